@@ -45,9 +45,15 @@ const ActivityLog = () => {
       .catch((error) => console.error(error));
   }, [page]);
 
-  const handleViewComments = (logId) => {
-    // API call to get comments for the selected logId
-    ProjectAllocationService.getActivityLogComments(logId, authToken)
+  const handleViewComments = (log) => {
+    // Comments are embedded in the activity log list, so no extra API call is needed
+    if (Array.isArray(log.auditComments)) {
+      setLogComments(log.auditComments);
+      setOpenDialog(true);
+      return;
+    }
+    // API call to get comments for the selected log
+    ProjectAllocationService.getActivityLogComments(log.id, authToken)
       .then((response) => {
         // Check if the response is an array, otherwise, create a new array with the single comment
         const commentsArray = Array.isArray(response) ? response : [response];
@@ -117,7 +123,7 @@ const ActivityLog = () => {
                       <Link
                         component="button"
                         variant="body2"
-                        onClick={() => handleViewComments(log.id)}
+                        onClick={() => handleViewComments(log)}
                       >
                         View Log Comments
                       </Link>
@@ -0,0 +1,7 @@
+-- Drops the table user-service kept blacklisted tokens in before they were stored by digest in revoked_tokens.
+-- Its tokens were signed with the previous HMAC key and are rejected anyway, so the table is dropped rather than
+-- migrated. Run once against the user-service database after every user-service instance has been upgraded:
+--
+--   mysql -h <DATABASE_HOST> -u <DATABASE_USERNAME> -p <DATABASE_NAME> < mysql/migrations/001-drop-legacy-blacklist-tokens.sql
+
+DROP TABLE IF EXISTS blacklist_tokens;
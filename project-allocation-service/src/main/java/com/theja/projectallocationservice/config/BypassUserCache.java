@@ -0,0 +1,15 @@
+package com.theja.projectallocationservice.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a controller method whose users have to be read from user-service rather than from the local user cache,
+ * for decisions that must not act on user data that changed moments ago. Fresh results still refresh the cache.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface BypassUserCache {
+}
@@ -0,0 +1,84 @@
+package com.theja.projectallocationservice.config;
+
+import com.theja.projectallocationservice.dto.RequestContext;
+import com.theja.projectallocationservice.entities.enums.PermissionName;
+import com.theja.projectallocationservice.exceptions.UnauthorizedAccessException;
+import com.theja.projectallocationservice.services.AuditLogService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Interceptor enforcing @RequiresPermission on controller methods before they run.
+@Slf4j
+@Component
+public class PermissionInterceptor implements HandlerInterceptor {
+
+    // Permissions required by a handler method, resolved from its annotation once.
+    private record PermissionRequirement(EnumSet<PermissionName> permissions, String action, String message) {
+        static PermissionRequirement of(RequiresPermission annotation) {
+            EnumSet<PermissionName> permissions = EnumSet.noneOf(PermissionName.class);
+            permissions.addAll(Arrays.asList(annotation.value()));
+            return new PermissionRequirement(permissions, annotation.action(), annotation.message());
+        }
+    }
+
+    private final Map<Method, PermissionRequirement> requirements = new ConcurrentHashMap<>();
+
+    @Autowired
+    private RequestContext requestContext;
+
+    @Autowired
+    private AuditLogService auditLogService;
+
+    /**
+     * Resolve the requirements of every mapped controller method once the handler mappings are built.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void resolveRequirements(ContextRefreshedEvent event) {
+        if (!event.getApplicationContext().containsBean("requestMappingHandlerMapping")) {
+            return;
+        }
+        RequestMappingHandlerMapping handlerMapping = event.getApplicationContext()
+                .getBean("requestMappingHandlerMapping", RequestMappingHandlerMapping.class);
+        for (HandlerMethod handlerMethod : handlerMapping.getHandlerMethods().values()) {
+            RequiresPermission annotation = handlerMethod.getMethodAnnotation(RequiresPermission.class);
+            if (annotation != null) {
+                requirements.put(handlerMethod.getMethod(), PermissionRequirement.of(annotation));
+            }
+        }
+        log.info("Resolved permission requirements for {} handler methods", requirements.size());
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        PermissionRequirement requirement = requirements.get(handlerMethod.getMethod());
+        if (requirement == null || requestContext.hasPermissions(requirement.permissions())) {
+            return true;
+        }
+
+        // Record the denied attempt through the one shared path and reject the request
+        EnumSet<PermissionName> missing = EnumSet.copyOf(requirement.permissions());
+        missing.removeAll(requestContext.getPermissions());
+        auditLogService.createUnauthorizedAccessAuditLog(
+                requestContext.getLoggedinUser(),
+                requirement.action(),
+                "Unauthorized user trying to " + requirement.action().toLowerCase() + ", missing permissions " + missing);
+        throw new UnauthorizedAccessException(requirement.message());
+    }
+}
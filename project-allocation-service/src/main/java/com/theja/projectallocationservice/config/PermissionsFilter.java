@@ -1,8 +1,12 @@
 package com.theja.projectallocationservice.config;
 
-import com.theja.projectallocationservice.entities.enums.PermissionName;
 import com.theja.projectallocationservice.dto.RequestContext;
+import com.theja.projectallocationservice.dto.UserSession;
+import com.theja.projectallocationservice.services.TokenRevocationService;
+import com.theja.projectallocationservice.services.TokenVerificationService;
 import com.theja.projectallocationservice.services.UserServiceClient;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,14 +27,18 @@ public class PermissionsFilter extends OncePerRequestFilter {
 
     private final RequestContext requestContext;
 
+    private final TokenVerificationService tokenVerificationService;
+
+    private final TokenRevocationService tokenRevocationService;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         log.info("Permissions filter received request");
         // Retrieve the request path
         String requestPath = request.getRequestURI();
 
-        // Exclude Swagger UI paths from authorization check
-        if (requestPath.startsWith("/swagger-ui") || requestPath.startsWith("/v3/api-docs")) {
+        // Exclude Swagger UI and actuator paths from authorization check
+        if (requestPath.startsWith("/swagger-ui") || requestPath.startsWith("/v3/api-docs") || requestPath.startsWith("/actuator")) {
             filterChain.doFilter(request, response); // Allow access without authorization check
             return;
         }
@@ -44,12 +52,36 @@ public class PermissionsFilter extends OncePerRequestFilter {
             return;
         }
 
-        // Retrieve the list of permissions associated with the authenticated user
-        java.util.List<PermissionName> permissions = userServiceClient.getPermissions(authHeader);
+        // Verify the token in-process using the keys published by user-service
+        final String token = authHeader.startsWith("Bearer ") ? authHeader.substring(7) : authHeader;
+        Claims claims;
+        try {
+            claims = tokenVerificationService.verify(token);
+        } catch (JwtException exception) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid token");
+            return;
+        }
 
-        // Set the permissions and logged-in user details in the RequestContext
-        requestContext.setPermissions(permissions);
-        requestContext.setLoggedinUser(userServiceClient.getUser(authHeader));
+        // Reject tokens that were revoked by logging out, whether their claims are trusted or introspected,
+        // since introspection results are cached and may miss a lost revocation event
+        if (tokenRevocationService.isRevoked(token)) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Token has been revoked");
+            return;
+        }
+
+        if (claims != null && tokenVerificationService.hasIdentityClaims(claims)
+                && !tokenRevocationService.isStale(claims.get("userId", Long.class), claims.getIssuedAt())) {
+            // Set the permissions and logged-in user details from the token claims
+            requestContext.setPermissions(tokenVerificationService.getPermissions(claims));
+            requestContext.setLoggedinUser(tokenVerificationService.getUser(claims));
+        } else {
+            // Signing keys are not available yet or the claims are stale, so fall back to asking user-service
+            UserSession session = userServiceClient.introspect(authHeader);
+
+            // Set the permissions and logged-in user details in the RequestContext
+            requestContext.setPermissions(session.getPermissions());
+            requestContext.setLoggedinUser(session.getUser());
+        }
 
         // Continue processing the request by passing it through the filter chain
         filterChain.doFilter(request, response);
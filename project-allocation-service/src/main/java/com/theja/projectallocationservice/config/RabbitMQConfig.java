@@ -1,5 +1,9 @@
 package com.theja.projectallocationservice.config;
 
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.rabbit.annotation.EnableRabbit;
 import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
@@ -55,6 +59,23 @@ public class RabbitMQConfig {
         return new Queue("search-queue", false);
     }
 
+    // Fanout exchange on which user-service publishes user and token events.
+    @Bean
+    public FanoutExchange userEventsExchange() {
+        return new FanoutExchange("user-events", false, false);
+    }
+
+    // Every instance gets its own exclusive queue so that each one can invalidate its local caches.
+    @Bean
+    public Queue userEventsQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding userEventsBinding() {
+        return BindingBuilder.bind(userEventsQueue()).to(userEventsExchange());
+    }
+
     @Bean
     public RabbitTemplate rabbitTemplate() {
         RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory());
@@ -0,0 +1,22 @@
+package com.theja.projectallocationservice.config;
+
+import com.theja.projectallocationservice.entities.enums.PermissionName;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the permissions a caller needs to invoke a controller method.
+ * Requirements are resolved once at startup by {@link PermissionInterceptor} and checked before the method runs.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequiresPermission {
+    PermissionName[] value();   // Permissions that are all required
+
+    String action();            // Action recorded in the audit log when access is denied
+
+    String message();           // Message returned to the caller when access is denied
+}
@@ -0,0 +1,139 @@
+package com.theja.projectallocationservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Configuration class for the HTTP client used to call other services.
+ * All calls share one pool of kept-alive connections, so a call does not have to open a new TCP connection.
+ */
+@Configuration
+public class RestClientConfig {
+
+    @Autowired
+    private Environment environment;
+
+    private Integer getMaxConnections(){
+        return environment.getProperty("HTTP_CLIENT_MAX_CONNECTIONS", Integer.class, 200);
+    }
+
+    private Integer getMaxConnectionsPerRoute(){
+        return environment.getProperty("HTTP_CLIENT_MAX_CONNECTIONS_PER_ROUTE", Integer.class, 50);
+    }
+
+    private Long getConnectTimeoutMillis(){
+        return environment.getProperty("HTTP_CLIENT_CONNECT_TIMEOUT_MILLIS", Long.class, 2000L);
+    }
+
+    private Long getReadTimeoutMillis(){
+        return environment.getProperty("HTTP_CLIENT_READ_TIMEOUT_MILLIS", Long.class, 5000L);
+    }
+
+    private Long getKeepAliveSeconds(){
+        return environment.getProperty("HTTP_CLIENT_KEEP_ALIVE_SECONDS", Long.class, 30L);
+    }
+
+    private Long getIdleEvictionSeconds(){
+        return environment.getProperty("HTTP_CLIENT_IDLE_EVICTION_SECONDS", Long.class, 60L);
+    }
+
+    private Integer getExecutorThreads(){
+        return environment.getProperty("HTTP_CLIENT_EXECUTOR_THREADS", Integer.class, 16);
+    }
+
+    private Integer getExecutorQueueCapacity(){
+        return environment.getProperty("HTTP_CLIENT_EXECUTOR_QUEUE_CAPACITY", Integer.class, 100);
+    }
+
+    @Bean
+    public PoolingHttpClientConnectionManager httpClientConnectionManager(MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(getMaxConnections())
+                .setMaxConnPerRoute(getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(getConnectTimeoutMillis()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(getReadTimeoutMillis()))
+                        .build())
+                .build();
+        // Publishes httpcomponents.httpclient.pool.* gauges for leased, available and pending connections.
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "service-client").bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager httpClientConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(httpClientConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        // Waiting for a free connection from the pool is bounded like opening a new one.
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(getConnectTimeoutMillis()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(getReadTimeoutMillis()))
+                        // Used when the server does not send a Keep-Alive header.
+                        .setConnectionKeepAlive(TimeValue.ofSeconds(getKeepAliveSeconds()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(getIdleEvictionSeconds()))
+                .build();
+    }
+
+    /**
+     * Define the RestTemplate shared by the service clients. Built from the auto-configured builder so that
+     * every call is recorded in the http.client.requests metric, tagged by URI template. Besides JSON it reads
+     * and writes CBOR, used by the internal user lookups.
+     */
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder restTemplateBuilder, CloseableHttpClient httpClient) {
+        return restTemplateBuilder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+                .additionalMessageConverters(new MappingJackson2CborHttpMessageConverter())
+                .build();
+    }
+
+    /**
+     * Define the bounded executor running the asynchronous service client calls on the shared connection pool.
+     * When all threads are busy and the queue is full, the calling thread runs the call itself, which slows
+     * callers down instead of failing them.
+     */
+    @Bean
+    public ExecutorService serviceClientExecutor(MeterRegistry meterRegistry) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                getExecutorThreads(),
+                getExecutorThreads(),
+                60L,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(getExecutorQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "service-client-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        // Publishes executor.* metrics for active threads, queued tasks and completed tasks.
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "service-client");
+    }
+}
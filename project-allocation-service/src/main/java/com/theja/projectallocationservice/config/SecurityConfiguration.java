@@ -29,7 +29,8 @@ public class SecurityConfiguration {
                         "/swagger-resources/**",
                         "/configuration/security",
                         "/swagger-ui.html",
-                        "/webjars/**")
+                        "/webjars/**",
+                        "/actuator/**")
                 .permitAll()
                 .anyRequest()
                 .authenticated()
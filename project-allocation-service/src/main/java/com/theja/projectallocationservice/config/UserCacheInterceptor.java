@@ -0,0 +1,24 @@
+package com.theja.projectallocationservice.config;
+
+import com.theja.projectallocationservice.services.PublicUserCacheService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Flags requests handled by a method annotated with {@link BypassUserCache}, so that the users they read are
+ * loaded from user-service instead of the local cache.
+ */
+@Component
+public class UserCacheInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod && handlerMethod.hasMethodAnnotation(BypassUserCache.class)) {
+            request.setAttribute(PublicUserCacheService.BYPASS_ATTRIBUTE, Boolean.TRUE);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,162 @@
+package com.theja.projectallocationservice.config;
+
+import com.theja.projectallocationservice.utils.RetryBudget;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRetryMetrics;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+
+/**
+ * Configuration class for the fault tolerance of the calls to user-service.
+ * Every endpoint has its own circuit breaker, all endpoints share one bulkhead bounding the threads that can be
+ * waiting on user-service, and reads are retried within a budget. Only timeouts, I/O errors and 5xx responses
+ * count as failures; a 4xx response is a valid answer.
+ * <p>
+ * Publishes the resilience4j.circuitbreaker.*, resilience4j.bulkhead.* and resilience4j.retry.* metrics,
+ * plus user.service.retry.budget.* for the retry budget.
+ */
+@Configuration
+public class UserServiceResilienceConfig {
+
+    public static final String USER_SERVICE = "user-service";
+
+    @Autowired
+    private Environment environment;
+
+    private Integer getBreakerWindowSize(){
+        return environment.getProperty("USER_SERVICE_BREAKER_WINDOW_SIZE", Integer.class, 50);
+    }
+
+    private Integer getBreakerMinimumCalls(){
+        return environment.getProperty("USER_SERVICE_BREAKER_MINIMUM_CALLS", Integer.class, 20);
+    }
+
+    private Float getBreakerFailureRate(){
+        return environment.getProperty("USER_SERVICE_BREAKER_FAILURE_RATE", Float.class, 50f);
+    }
+
+    private Long getBreakerSlowCallMillis(){
+        return environment.getProperty("USER_SERVICE_BREAKER_SLOW_CALL_MILLIS", Long.class, 2000L);
+    }
+
+    private Float getBreakerSlowCallRate(){
+        return environment.getProperty("USER_SERVICE_BREAKER_SLOW_CALL_RATE", Float.class, 80f);
+    }
+
+    private Long getBreakerOpenMillis(){
+        return environment.getProperty("USER_SERVICE_BREAKER_OPEN_MILLIS", Long.class, 10000L);
+    }
+
+    private Integer getBreakerHalfOpenCalls(){
+        return environment.getProperty("USER_SERVICE_BREAKER_HALF_OPEN_CALLS", Integer.class, 5);
+    }
+
+    private Integer getBulkheadMaxConcurrentCalls(){
+        return environment.getProperty("USER_SERVICE_BULKHEAD_MAX_CONCURRENT_CALLS", Integer.class, 25);
+    }
+
+    private Long getBulkheadMaxWaitMillis(){
+        return environment.getProperty("USER_SERVICE_BULKHEAD_MAX_WAIT_MILLIS", Long.class, 100L);
+    }
+
+    private Integer getRetryMaxAttempts(){
+        return environment.getProperty("USER_SERVICE_RETRY_MAX_ATTEMPTS", Integer.class, 2);
+    }
+
+    private Long getRetryWaitMillis(){
+        return environment.getProperty("USER_SERVICE_RETRY_WAIT_MILLIS", Long.class, 100L);
+    }
+
+    private Double getRetryBudgetRatio(){
+        return environment.getProperty("USER_SERVICE_RETRY_BUDGET_RATIO", Double.class, 0.1);
+    }
+
+    private Integer getRetryBudgetMaxRetries(){
+        return environment.getProperty("USER_SERVICE_RETRY_BUDGET_MAX_RETRIES", Integer.class, 20);
+    }
+
+    // Whether a call failed because of user-service rather than because of the request
+    public static boolean isServiceFailure(Throwable throwable) {
+        return throwable instanceof ResourceAccessException || throwable instanceof HttpServerErrorException;
+    }
+
+    @Bean
+    public CircuitBreakerRegistry userServiceCircuitBreakerRegistry(MeterRegistry meterRegistry) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(getBreakerWindowSize())
+                .minimumNumberOfCalls(getBreakerMinimumCalls())
+                .failureRateThreshold(getBreakerFailureRate())
+                .slowCallDurationThreshold(Duration.ofMillis(getBreakerSlowCallMillis()))
+                .slowCallRateThreshold(getBreakerSlowCallRate())
+                .waitDurationInOpenState(Duration.ofMillis(getBreakerOpenMillis()))
+                .permittedNumberOfCallsInHalfOpenState(getBreakerHalfOpenCalls())
+                .recordException(UserServiceResilienceConfig::isServiceFailure)
+                .build();
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        // Also binds the breakers created later, one per endpoint, tagged with name=user-service-<endpoint>.
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    @Bean
+    public Bulkhead userServiceBulkhead(MeterRegistry meterRegistry) {
+        BulkheadRegistry registry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(getBulkheadMaxConcurrentCalls())
+                .maxWaitDuration(Duration.ofMillis(getBulkheadMaxWaitMillis()))
+                .build());
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead(USER_SERVICE);
+    }
+
+    @Bean
+    public RetryBudget userServiceRetryBudget(MeterRegistry meterRegistry) {
+        RetryBudget retryBudget = new RetryBudget(getRetryBudgetRatio(), getRetryBudgetMaxRetries());
+        Gauge.builder("user.service.retry.budget.available", retryBudget, RetryBudget::available)
+                .description("Retries of user-service calls currently allowed by the retry budget")
+                .register(meterRegistry);
+        return retryBudget;
+    }
+
+    @Bean
+    public Retry userServiceRetry(RetryBudget userServiceRetryBudget, MeterRegistry meterRegistry) {
+        Counter exhausted = Counter.builder("user.service.retry.budget.exhausted")
+                .description("Failed user-service calls not retried because the retry budget was exhausted")
+                .register(meterRegistry);
+        RetryRegistry registry = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(getRetryMaxAttempts())
+                .intervalFunction(IntervalFunction.ofExponentialRandomBackoff(Duration.ofMillis(getRetryWaitMillis()), 2.0, 0.5))
+                .retryOnException(throwable -> {
+                    if (!isServiceFailure(throwable)) {
+                        return false;
+                    }
+                    if (!userServiceRetryBudget.tryWithdraw()) {
+                        exhausted.increment();
+                        return false;
+                    }
+                    return true;
+                })
+                .build());
+        TaggedRetryMetrics.ofRetryRegistry(registry).bindTo(meterRegistry);
+        return registry.retry(USER_SERVICE);
+    }
+}
@@ -0,0 +1,22 @@
+package com.theja.projectallocationservice.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private PermissionInterceptor permissionInterceptor;
+
+    @Autowired
+    private UserCacheInterceptor userCacheInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(permissionInterceptor).addPathPatterns("/api/**");
+        registry.addInterceptor(userCacheInterceptor).addPathPatterns("/api/**");
+    }
+}
@@ -1,11 +1,15 @@
 package com.theja.projectallocationservice.controllers;
 
+import com.theja.projectallocationservice.config.BypassUserCache;
+import com.theja.projectallocationservice.config.RequiresPermission;
 import com.theja.projectallocationservice.dto.ApplicationListResponse;
+import com.theja.projectallocationservice.dto.ApplicationSummary;
+import com.theja.projectallocationservice.dto.OpeningSkillSummary;
 import com.theja.projectallocationservice.dto.RequestContext;
 import com.theja.projectallocationservice.entities.enums.ApplicationStatus;
 import com.theja.projectallocationservice.entities.enums.PermissionName;
 import com.theja.projectallocationservice.exceptions.ApplicationNotFoundException;
-import com.theja.projectallocationservice.exceptions.UnauthorizedAccessException;
+import com.theja.projectallocationservice.mappers.Expand;
 import com.theja.projectallocationservice.mappers.ApplicationMapper;
 import com.theja.projectallocationservice.entities.*;
 import com.theja.projectallocationservice.services.*;
@@ -43,12 +47,10 @@ public class ApplicationController {
     @Autowired
     private ApplicationMapper applicationMapper;
     @Autowired
-    private AuditLogService auditLogService;
+    private AuditTrail auditTrail;
     @Autowired
     private RequestContext requestContext;
     @Autowired
-    private AuditCommentService auditCommentService;
-    @Autowired
     private UserServiceClient userServiceClient;
 
     /**
@@ -57,35 +59,27 @@ public class ApplicationController {
      * @param status    Optional status filter for applications.
      * @param pageNumber    Page number for pagination.
      * @param pageSize    Number of items per page.
+     * @param expand    Optional comma-separated nested objects to resolve, such as candidate,opening.project; all when omitted.
      * @return ResponseEntity containing the list of applications and pagination details.
      */
     @GetMapping("")
     @Operation(summary = "Get all applications", description = "Retrieve a paginated list of applications with optional status filter")
+    @RequiresPermission(value = PermissionName.VIEW_PENDING_APPLICATIONS, action = "Fetching all pending applications", message = "You don't have permission to fetch all pending applications.")
     public ResponseEntity<ApplicationListResponse> getAllApplications(
             @RequestParam(required = false) ApplicationStatus status,
             @RequestParam(defaultValue = "0") int pageNumber,
-            @RequestParam(defaultValue = "10") int pageSize
+            @RequestParam(defaultValue = "10") int pageSize,
+            @RequestParam(required = false) String expand
     ) {
-        if (requestContext.getPermissions() == null || !requestContext.getPermissions().contains(PermissionName.VIEW_PENDING_APPLICATIONS.toString())) {
-            // Create Audit log
-            AuditLog auditLog = auditLogService.createAuditLog(
-                    AuditLog.builder()
-                            .action("Fetching all pending applications")
-                            .userId(requestContext.getLoggedinUser().getId())
-                            .loggedAt(new Date())
-                            .auditComments(new ArrayList<>())
-                            .build());
-            auditCommentService.createAuditComment(AuditComment.builder()
-                    .comment("Unauthorized user trying to fetch all pending applications")
-                    .auditLog(auditLog)
-                    .build());
-            throw new UnauthorizedAccessException("You don't have permission to fetch all pending applications.");
-        }
         // Fetch applications with filtering and pagination
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
-        Page<Application> pageResult = applicationService.getAllApplicationsByStatus(status, pageable);
+        Expand expansion = Expand.parse(expand);
+        Page<ApplicationSummary> pageResult = applicationService.getAllApplicationsByStatus(status, pageable);
+        // Skills are many-to-many, so they are fetched for the whole page in a second query only when requested
+        List<OpeningSkillSummary> skills = !expansion.child("opening").includes("skills") ? List.of() :
+                openingService.getSkillsForOpenings(pageResult.getContent().stream().map(application -> application.opening().id()).distinct().toList());
 
-        List<com.theja.projectallocationservice.dto.Application> applicationList = applicationMapper.entityToModel(pageResult.getContent());
+        List<com.theja.projectallocationservice.dto.Application> applicationList = applicationMapper.summaryToModel(pageResult.getContent(), skills, expansion);
 
         ApplicationListResponse response = ApplicationListResponse.builder()
                 .applications(applicationList)
@@ -144,20 +138,11 @@ public class ApplicationController {
     @ApiResponse(responseCode = "400", description = "Bad request")
     @ApiResponse(responseCode = "404", description = "Opening not found")
     public ResponseEntity<com.theja.projectallocationservice.dto.Application> createApplication(@PathVariable Long openingId) {
-        // Create Audit log
-        AuditLog auditLog = auditLogService.createAuditLog(
-                AuditLog.builder()
-                        .action("Applying for opening " + openingId)
-                        .userId(requestContext.getLoggedinUser().getId())
-                        .loggedAt(new Date())
-                        .auditComments(new ArrayList<>())
-                        .build());
+        // Start the audit trail
+        auditTrail.start("Applying for opening " + openingId);
         // Fetch the corresponding opening from the OpeningService using openingId
         Opening opening = openingService.getOpeningById(openingId);
-        auditCommentService.createAuditComment(AuditComment.builder()
-                .comment("Opening with id " + openingId + " found")
-                .auditLog(auditLog)
-                .build());
+        auditTrail.step("Opening with id " + openingId + " found");
         // Associate the application with the opening
         Application application = new Application();
         application.setOpening(opening);
@@ -167,10 +152,7 @@ public class ApplicationController {
         application.setInterviews(new ArrayList<>());
         // Save the application to the database
         Application dbCreatedApplication = applicationService.createApplication(application, requestContext.getLoggedinUser());
-        auditCommentService.createAuditComment(AuditComment.builder()
-                .comment("Applied for opening successfully")
-                .auditLog(auditLog)
-                .build());
+        auditTrail.step("Applied for opening successfully");
         // Create a new application for the specified opening
         // Save the application and return it in the response
         return ResponseEntity.status(HttpStatus.CREATED).body(applicationMapper.entityToModel(dbCreatedApplication));
@@ -185,12 +167,12 @@ public class ApplicationController {
      */
     @PutMapping("/{id}")
     @Operation(summary = "Update application", description = "Update an existing application by its ID")
-    @ApiResponse(responseCode = "200", description = "Application updated successfully", content = @Content(schema = @Schema(implementation = Application.class)))
+    @ApiResponse(responseCode = "200", description = "Application updated successfully", content = @Content(schema = @Schema(implementation = com.theja.projectallocationservice.dto.Application.class)))
     @ApiResponse(responseCode = "404", description = "Application not found")
-    public ResponseEntity<Application> updateApplication(@PathVariable Long id, @RequestBody Application application) {
+    public ResponseEntity<com.theja.projectallocationservice.dto.Application> updateApplication(@PathVariable Long id, @RequestBody Application application) {
         // Update an existing application by ID and return the updated application
         Application dbUpdatedApplication = applicationService.updateApplication(id, application);
-        return ResponseEntity.ok(dbUpdatedApplication);
+        return ResponseEntity.ok(applicationMapper.entityToModel(dbUpdatedApplication));
     }
 
     /**
@@ -222,31 +204,14 @@ public class ApplicationController {
     @ApiResponse(responseCode = "400", description = "Bad request")
     @ApiResponse(responseCode = "401", description = "Unauthorized")
     @ApiResponse(responseCode = "404", description = "Application not found")
+    @RequiresPermission(value = PermissionName.VIEW_PENDING_APPLICATIONS, action = "Update application status", message = "You don't have permission to update the application status.")
+    @BypassUserCache
     public ResponseEntity<com.theja.projectallocationservice.dto.Application> updateInterviewStatus(@PathVariable Long applicationId, @RequestParam ApplicationStatus newStatus) {
-        // Create Audit log
-        AuditLog auditLog = auditLogService.createAuditLog(
-                AuditLog.builder()
-                        .action("Updating status of application id " + applicationId)
-                        .userId(requestContext.getLoggedinUser().getId())
-                        .loggedAt(new Date())
-                        .auditComments(new ArrayList<>())
-                        .build());
-        auditCommentService.createAuditComment(AuditComment.builder()
-                .comment("Checking user permissions")
-                .auditLog(auditLog)
-                .build());
-        if (requestContext.getPermissions() == null || !requestContext.getPermissions().contains(PermissionName.VIEW_PENDING_APPLICATIONS.toString())) {
-            auditCommentService.createAuditComment(AuditComment.builder()
-                    .comment("Unauthorized user trying to update application status")
-                    .auditLog(auditLog)
-                    .build());
-            throw new UnauthorizedAccessException("You don't have permission to update the application status.");
-        }
+        // Start the audit trail
+        auditTrail.start("Updating status of application id " + applicationId);
+        auditTrail.step("Permissions passed");
         Application application = applicationService.getApplicationById(applicationId);
-        auditCommentService.createAuditComment(AuditComment.builder()
-                .comment("Application with " + applicationId + " found")
-                .auditLog(auditLog)
-                .build());
+        auditTrail.step("Application with " + applicationId + " found");
         if (application != null) {
             if (newStatus == ApplicationStatus.APPLIED) {
                 return ResponseEntity.badRequest().build();
@@ -258,21 +223,12 @@ public class ApplicationController {
             // Update the status of an application based on provided rules
             application.setStatus(newStatus);
             Application dbUpdatedApplication = applicationService.updateApplication(applicationId, application);
-            auditCommentService.createAuditComment(AuditComment.builder()
-                    .comment("Updated the application status")
-                    .auditLog(auditLog)
-                    .build());
+            auditTrail.step("Updated the application status");
             if (newStatus != ApplicationStatus.REJECTED) {
                 projectService.allocateUser(dbUpdatedApplication.getOpening().getProject(), dbUpdatedApplication.getCandidateId());
-                auditCommentService.createAuditComment(AuditComment.builder()
-                        .comment("Application accepted and applicant is allocated to the project")
-                        .auditLog(auditLog)
-                        .build());
+                auditTrail.step("Application accepted and applicant is allocated to the project");
             } else {
-                auditCommentService.createAuditComment(AuditComment.builder()
-                        .comment("Application rejected")
-                        .auditLog(auditLog)
-                        .build());
+                auditTrail.step("Application rejected");
             }
             // Return the updated application or appropriate error responses
             return ResponseEntity.ok(applicationMapper.entityToModel(dbUpdatedApplication));
@@ -1,10 +1,13 @@
 package com.theja.projectallocationservice.controllers;
 
+import com.theja.projectallocationservice.dto.AuditLogCursor;
 import com.theja.projectallocationservice.dto.AuditLogResponse;
+import com.theja.projectallocationservice.mappers.Expand;
 import com.theja.projectallocationservice.mappers.AuditCommentMapper;
 import com.theja.projectallocationservice.mappers.AuditLogMapper;
 import com.theja.projectallocationservice.entities.*;
 import com.theja.projectallocationservice.repositories.AuditCommentRepository;
+import com.theja.projectallocationservice.services.AuditArchiveService;
 import com.theja.projectallocationservice.services.AuditCommentService;
 import com.theja.projectallocationservice.services.AuditLogService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,10 +17,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Date;
 import java.util.List;
 
 /**
@@ -28,6 +33,9 @@ import java.util.List;
 @RequestMapping("/api/v1/audit-logs")
 @Tag(name = "Audit Log Controller", description = "Endpoints related to audit log management")
 public class AuditLogController {
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
     // Autowired fields for services and mappers...
     @Autowired
     private AuditLogService auditLogService;
@@ -39,27 +47,61 @@ public class AuditLogController {
     private AuditCommentService auditCommentService;
     @Autowired
     private AuditCommentMapper auditCommentMapper;
+    @Autowired
+    private AuditArchiveService auditArchiveService;
 
     /**
-     * Retrieves a paginated list of audit logs.
+     * Retrieves a paginated list of audit logs, newest first, optionally filtered by user, action prefix and time range.
+     * Without a page number, pages are listed with a cursor: each response carries the cursor of the next page,
+     * so deep pages cost the same as the first. With a page number, offset paging and a total count are used.
      *
      * @param pageSize   The number of audit logs to include in each page.
-     * @param pageNumber The page number of audit logs to retrieve.
-     * @return A response containing a paginated list of model audit logs and total element count.
+     * @param pageNumber The page number of audit logs to retrieve, for offset paging.
+     * @param cursor     The cursor returned with the previous page, for keyset paging.
+     * @param userId     Optional ID of the user whose audit logs to retrieve.
+     * @param action     Optional prefix of the audited action.
+     * @param from       Optional start of the time range, inclusive (ISO date-time).
+     * @param to         Optional end of the time range, exclusive (ISO date-time).
+     * @param expand     Optional comma-separated nested objects to resolve (user, comments); all when omitted.
+     * @return A response containing a page of model audit logs and either the total element count or the next cursor.
      */
     @GetMapping("")
     @Operation(summary = "Get all audit logs", description = "Retrieve a paginated list of audit logs")
     @ApiResponse(responseCode = "200", description = "Audit logs retrieved successfully", content = @Content(schema = @Schema(implementation = AuditLogResponse.class)))
-    public ResponseEntity<AuditLogResponse> getAllAuditLogs(@RequestParam(required = false) Integer pageSize, @RequestParam(required = false) Integer pageNumber) {
-        // Fetch a paginated list of audit logs
-        Page<AuditLog> dbAuditLogs = auditLogService.getAllAuditLogs(pageSize, pageNumber);
-        // Convert entity audit logs to model audit logs using the mapper
-        // Build a response containing model audit logs and total element count
+    @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    public ResponseEntity<AuditLogResponse> getAllAuditLogs(@RequestParam(required = false) Integer pageSize,
+                                                            @RequestParam(required = false) Integer pageNumber,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(required = false) Long userId,
+                                                            @RequestParam(required = false) String action,
+                                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date from,
+                                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date to,
+                                                            @RequestParam(required = false) String expand) {
+        Expand expansion = Expand.parse(expand);
+        // Both paging modes share the default and the cap, so no single request can pull the whole table
+        int limit = Math.max(1, Math.min(pageSize == null ? DEFAULT_PAGE_SIZE : pageSize, MAX_PAGE_SIZE));
+        if (pageNumber != null) {
+            // Fetch a page of audit logs by offset, together with the total count
+            Page<AuditLog> dbAuditLogs = auditLogService.getAllAuditLogs(userId, action, from, to, limit, Math.max(0, pageNumber), expansion.includes("comments"));
+            AuditLogResponse response = AuditLogResponse.builder()
+                    .auditLogs(auditLogMapper.entityToModel(dbAuditLogs.getContent(), expansion))
+                    .totalElements(dbAuditLogs.getTotalElements())
+                    .build();
+            return ResponseEntity.ok(response);
+        }
+
+        // Fetch one audit log more than requested to know whether there is a next page
+        List<AuditLog> dbAuditLogs = auditLogService.getAuditLogsAfter(userId, action, from, to, AuditLogCursor.parse(cursor), limit + 1, expansion.includes("comments"));
+        String nextCursor = null;
+        if (dbAuditLogs.size() > limit) {
+            dbAuditLogs = dbAuditLogs.subList(0, limit);
+            AuditLog last = dbAuditLogs.get(limit - 1);
+            nextCursor = new AuditLogCursor(last.getLoggedAt(), last.getId()).encode();
+        }
         AuditLogResponse response = AuditLogResponse.builder()
-                .auditLogs(auditLogMapper.entityToModel(dbAuditLogs.getContent()))
-                .totalElements(dbAuditLogs.getTotalElements())
+                .auditLogs(auditLogMapper.entityToModel(dbAuditLogs, expansion))
+                .nextCursor(nextCursor)
                 .build();
-        // Return the response in the ResponseEntity with an OK status
         return ResponseEntity.ok(response);
     }
 
@@ -80,4 +122,28 @@ public class AuditLogController {
         // Return the list of model audit comments in the response
         return new ResponseEntity<>(auditCommentMapper.entityToModel(auditComments), HttpStatus.OK);
     }
+
+    /**
+     * Retrieves archived audit logs, which have been moved out of the database after the retention period.
+     *
+     * @param userId Optional ID of the user whose audit logs to retrieve.
+     * @param from   Optional start of the time range, inclusive (ISO date-time).
+     * @param to     Optional end of the time range, exclusive (ISO date-time).
+     * @param expand Optional comma-separated nested objects to resolve (user); all when omitted.
+     * @return A response containing the matching archived audit logs with their comments.
+     */
+    @GetMapping("/archive")
+    @Operation(summary = "Get archived audit logs", description = "Retrieve archived audit logs of a user and/or a time range")
+    @ApiResponse(responseCode = "200", description = "Archived audit logs retrieved successfully", content = @Content(schema = @Schema(implementation = AuditLogResponse.class)))
+    public ResponseEntity<AuditLogResponse> getArchivedAuditLogs(@RequestParam(required = false) Long userId,
+                                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date from,
+                                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date to,
+                                                                 @RequestParam(required = false) String expand) {
+        List<com.theja.projectallocationservice.dto.AuditLog> auditLogs = auditLogMapper.archiveToModel(auditArchiveService.findArchivedAuditLogs(userId, from, to), Expand.parse(expand));
+        AuditLogResponse response = AuditLogResponse.builder()
+                .auditLogs(auditLogs)
+                .totalElements((long) auditLogs.size())
+                .build();
+        return ResponseEntity.ok(response);
+    }
 }
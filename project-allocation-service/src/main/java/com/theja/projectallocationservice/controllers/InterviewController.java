@@ -1,15 +1,14 @@
 package com.theja.projectallocationservice.controllers;
 
-import com.theja.projectallocationservice.dto.RequestContext;
+import com.theja.projectallocationservice.config.RequiresPermission;
 import com.theja.projectallocationservice.dto.UpdateFeedbackRequest;
 import com.theja.projectallocationservice.entities.enums.InterviewStatus;
 import com.theja.projectallocationservice.entities.enums.PermissionName;
-import com.theja.projectallocationservice.exceptions.UnauthorizedAccessException;
+import com.theja.projectallocationservice.mappers.Expand;
 import com.theja.projectallocationservice.mappers.InterviewMapper;
 import com.theja.projectallocationservice.entities.*;
 import com.theja.projectallocationservice.services.ApplicationService;
-import com.theja.projectallocationservice.services.AuditCommentService;
-import com.theja.projectallocationservice.services.AuditLogService;
+import com.theja.projectallocationservice.services.AuditTrail;
 import com.theja.projectallocationservice.services.InterviewService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -21,10 +20,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * The `InterviewController` class handles HTTP requests related to interviews.
@@ -42,29 +38,24 @@ public class InterviewController {
     @Autowired
     private InterviewMapper interviewMapper;
     @Autowired
-    private RequestContext requestContext;
-    @Autowired
-    private AuditLogService auditLogService;
-    @Autowired
-    private AuditCommentService auditCommentService;
+    private AuditTrail auditTrail;
 
     /**
      * Retrieves all interviews associated with a particular interviewer ID.
      *
      * @param interviewerId The ID of the interviewer.
+     * @param expand        Optional comma-separated nested objects to resolve, such as interviewer,application.candidate; all when omitted.
      * @return List of interviews associated with the provided interviewer ID.
      */
     @GetMapping("/interviewer/{interviewerId}")
     @Operation(summary = "Get interviews by interviewer ID", description = "Retrieve all interviews with a particular interviewer ID")
     @ApiResponse(responseCode = "200", description = "Interviews retrieved successfully", content = @Content(schema = @Schema(implementation = com.theja.projectallocationservice.dto.Interview.class)))
-    public ResponseEntity<List<com.theja.projectallocationservice.dto.Interview>> getInterviewsByInterviewerId(@PathVariable Long interviewerId) {
+    public ResponseEntity<List<com.theja.projectallocationservice.dto.Interview>> getInterviewsByInterviewerId(@PathVariable Long interviewerId, @RequestParam(required = false) String expand) {
         // Fetch all interviews associated with the provided interviewer ID
         List<Interview> dbInterviews = interviewService.getInterviewsByInterviewerId(interviewerId);
 
         // Convert the DBInterview entities to Interview models
-        List<com.theja.projectallocationservice.dto.Interview> interviews = dbInterviews.stream()
-                .map(interviewMapper::entityToModel)
-                .collect(Collectors.toList());
+        List<com.theja.projectallocationservice.dto.Interview> interviews = interviewMapper.entityToModel(dbInterviews, Expand.parse(expand));
 
         // Return the list of interviews in the response
         return ResponseEntity.ok(interviews);
@@ -74,17 +65,16 @@ public class InterviewController {
      * Retrieves a list of interviews associated with a specific application ID.
      *
      * @param applicationId The unique identifier of the application
+     * @param expand Optional comma-separated nested objects to resolve, such as interviewer,application.candidate; all when omitted.
      * @return A ResponseEntity containing the list of interviews and an HTTP status code
      */
     @GetMapping("")
-    public ResponseEntity<List<com.theja.projectallocationservice.dto.Interview>> getInterviewsByApplicationId(@RequestParam Long applicationId) {
+    public ResponseEntity<List<com.theja.projectallocationservice.dto.Interview>> getInterviewsByApplicationId(@RequestParam Long applicationId, @RequestParam(required = false) String expand) {
         // Fetch all interviews associated with the provided application ID
         List<Interview> dbInterviews = interviewService.getInterviewsByApplicationId(applicationId);
 
         // Convert the DBInterview entities to Interview models
-        List<com.theja.projectallocationservice.dto.Interview> interviews = dbInterviews.stream()
-                .map(interviewMapper::entityToModel)
-                .collect(Collectors.toList());
+        List<com.theja.projectallocationservice.dto.Interview> interviews = interviewMapper.entityToModel(dbInterviews, Expand.parse(expand));
 
         // Return the list of interviews in the response
         return ResponseEntity.ok(interviews);
@@ -115,39 +105,21 @@ public class InterviewController {
     @PostMapping("/applications/{applicationId}")
     @Operation(summary = "Create interview", description = "Create a new interview for a given application")
     @ApiResponse(responseCode = "201", description = "Interview created successfully", content = @Content(schema = @Schema(implementation = com.theja.projectallocationservice.dto.Interview.class)))
+    @RequiresPermission(value = PermissionName.VIEW_PENDING_APPLICATIONS, action = "Schedule interview", message = "You don't have permission to schedule an interview.")
     public ResponseEntity<com.theja.projectallocationservice.dto.Interview> createInterview(@PathVariable Long applicationId, @RequestBody Interview interview) {
-        // Create an audit log for scheduling an interview
-        AuditLog auditLog = auditLogService.createAuditLog(
-                AuditLog.builder()
-                        .action("Scheduling interview for application id " + applicationId)
-                        .userId(requestContext.getLoggedinUser().getId())
-                        .loggedAt(new Date())
-                        .auditComments(new ArrayList<>())
-                        .build());
-        // Check user permissions to schedule an interview
-        auditCommentService.createAuditComment(AuditComment.builder()
-                .comment("Checking user permissions")
-                .auditLog(auditLog)
-                .build());
-        if (requestContext.getPermissions() == null || !requestContext.getPermissions().contains(PermissionName.VIEW_PENDING_APPLICATIONS.toString())) {
-            throw new UnauthorizedAccessException("You don't have permission to schedule an interview.");
-        }
+        // Start the audit trail for scheduling an interview
+        auditTrail.start("Scheduling interview for application id " + applicationId);
+        auditTrail.step("Permissions passed");
         // Fetch the associated application by ID
         Application application = applicationService.getApplicationById(applicationId);
-        auditCommentService.createAuditComment(AuditComment.builder()
-                .comment("Application with id " + applicationId + " found")
-                .auditLog(auditLog)
-                .build());
+        auditTrail.step("Application with id " + applicationId + " found");
         // Schedule the interview and update its status
         interview.setApplication(application);
         interview.setStatus(InterviewStatus.SCHEDULED);
         interview.setFeedback("");
         // Save the created interview and log the action
         Interview dbCreatedInterview = interviewService.createInterview(interview);
-        auditCommentService.createAuditComment(AuditComment.builder()
-                .comment("Interview created successfully")
-                .auditLog(auditLog)
-                .build());
+        auditTrail.step("Interview created successfully");
         // Return the response with a CREATED status
         return ResponseEntity.status(HttpStatus.CREATED).body(interviewMapper.entityToModel(dbCreatedInterview));
     }
@@ -162,11 +134,8 @@ public class InterviewController {
     @PutMapping("/{interviewId}")
     @Operation(summary = "Update interview", description = "Update an existing interview's details")
     @ApiResponse(responseCode = "200", description = "Interview updated successfully", content = @Content(schema = @Schema(implementation = com.theja.projectallocationservice.dto.Interview.class)))
+    @RequiresPermission(value = PermissionName.VIEW_PENDING_APPLICATIONS, action = "Update interview", message = "You don't have permission to update the interview details.")
     public ResponseEntity<com.theja.projectallocationservice.dto.Interview> updateInterview(@PathVariable Long interviewId, @RequestBody Interview interview) {
-        // Check user permissions to update interview details
-        if (requestContext.getPermissions() == null || !requestContext.getPermissions().contains(PermissionName.VIEW_PENDING_APPLICATIONS.toString())) {
-            throw new UnauthorizedAccessException("You don't have permission to update the interview details.");
-        }
         // Update the interview and save the changes
         Interview dbUpdatedInterview = interviewService.updateInterview(interviewId, interview);
         // Return the updated interview
@@ -197,29 +166,14 @@ public class InterviewController {
     @PatchMapping("/{interviewId}/status")
     @Operation(summary = "Update interview status", description = "Update the status of an existing interview")
     @ApiResponse(responseCode = "200", description = "Interview status updated successfully", content = @Content(schema = @Schema(implementation = com.theja.projectallocationservice.dto.Interview.class)))
+    @RequiresPermission(value = PermissionName.VIEW_PENDING_APPLICATIONS, action = "Update interview status", message = "You don't have permission to update the interview status.")
     public ResponseEntity<com.theja.projectallocationservice.dto.Interview> updateInterviewStatus(@PathVariable Long interviewId, @RequestParam InterviewStatus newStatus) {
-        // Create an audit log for updating interview status
-        AuditLog auditLog = auditLogService.createAuditLog(
-                AuditLog.builder()
-                        .action("Updating status of interview with id " + interviewId)
-                        .userId(requestContext.getLoggedinUser().getId())
-                        .loggedAt(new Date())
-                        .auditComments(new ArrayList<>())
-                        .build());
-        // Check user permissions to update interview status
-        auditCommentService.createAuditComment(AuditComment.builder()
-                .comment("Checking user permissions")
-                .auditLog(auditLog)
-                .build());
-        if (requestContext.getPermissions() == null || !requestContext.getPermissions().contains(PermissionName.VIEW_PENDING_APPLICATIONS.toString())) {
-            throw new UnauthorizedAccessException("You don't have permission to update the interview status.");
-        }
+        // Start the audit trail for updating interview status
+        auditTrail.start("Updating status of interview with id " + interviewId);
+        auditTrail.step("Permissions passed");
         // Fetch the interview by ID
         Interview interview = interviewService.getInterviewById(interviewId);
-        auditCommentService.createAuditComment(AuditComment.builder()
-                .comment("Interview with id " + interviewId + " found")
-                .auditLog(auditLog)
-                .build());
+        auditTrail.step("Interview with id " + interviewId + " found");
         if (newStatus == InterviewStatus.SCHEDULED) {
             return ResponseEntity.badRequest().build();
         } else if (newStatus == InterviewStatus.COMPLETED && interview.getStatus() != InterviewStatus.SCHEDULED) {
@@ -231,10 +185,7 @@ public class InterviewController {
         interview.setStatus(newStatus);
         // Save the updated interview and log the action
         Interview dbUpdatedInterview = interviewService.updateInterview(interviewId, interview);
-        auditCommentService.createAuditComment(AuditComment.builder()
-                .comment("Interview status updated successfully")
-                .auditLog(auditLog)
-                .build());
+        auditTrail.step("Interview status updated successfully");
         // Return the response with the updated interview
         return ResponseEntity.ok(interviewMapper.entityToModel(dbUpdatedInterview));
     }
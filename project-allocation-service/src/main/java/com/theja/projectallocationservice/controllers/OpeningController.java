@@ -1,10 +1,14 @@
 package com.theja.projectallocationservice.controllers;
 
+import com.theja.projectallocationservice.config.RequiresPermission;
+import com.theja.projectallocationservice.dto.OpeningSkillSummary;
+import com.theja.projectallocationservice.dto.OpeningSummary;
 import com.theja.projectallocationservice.dto.OpeningsListResponse;
 import com.theja.projectallocationservice.dto.RequestContext;
 import com.theja.projectallocationservice.entities.enums.OpeningStatus;
 import com.theja.projectallocationservice.entities.enums.PermissionName;
 import com.theja.projectallocationservice.exceptions.*;
+import com.theja.projectallocationservice.mappers.Expand;
 import com.theja.projectallocationservice.mappers.OpeningMapper;
 import com.theja.projectallocationservice.entities.*;
 import com.theja.projectallocationservice.services.*;
@@ -21,7 +25,6 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
 
 /**
@@ -42,11 +45,9 @@ public class OpeningController {
     @Autowired
     private SkillService skillService;
     @Autowired
-    private AuditLogService auditLogService;
+    private AuditTrail auditTrail;
     @Autowired
     private RequestContext requestContext;
-    @Autowired
-    private AuditCommentService auditCommentService;
 
     /**
      * Retrieves a list of openings with optional pagination and filters.
@@ -55,17 +56,22 @@ public class OpeningController {
      * @param pageNumber   The page number.
      * @param appliedBySelf Filter by openings applied by the logged-in user.
      * @param postedBySelf Filter by openings posted by the logged-in user.
+     * @param expand       Optional comma-separated nested objects to resolve (recruiter, project, skills); all when omitted.
      * @return A response containing a list of openings and pagination details.
      */
     // Get all openings
     @GetMapping("")
     @Operation(summary = "Get openings", description = "Retrieve a list of openings with optional pagination and filters")
     @ApiResponse(responseCode = "200", description = "Openings retrieved successfully", content = @Content(schema = @Schema(implementation = OpeningsListResponse.class)))
-    public ResponseEntity<OpeningsListResponse> getAllOpenings(@RequestParam(required = false) Integer pageSize, @RequestParam(required = false) Integer pageNumber, @RequestParam(required = false) Boolean appliedBySelf, @RequestParam(required = false) Boolean postedBySelf) {
+    public ResponseEntity<OpeningsListResponse> getAllOpenings(@RequestParam(required = false) Integer pageSize, @RequestParam(required = false) Integer pageNumber, @RequestParam(required = false) Boolean appliedBySelf, @RequestParam(required = false) Boolean postedBySelf, @RequestParam(required = false) String expand) {
         // Fetch all openings and return a list of opening models with pagination details
-        Page<Opening> dbOpenings = openingService.getAllOpenings(pageSize, pageNumber, appliedBySelf, postedBySelf);
+        Expand expansion = Expand.parse(expand);
+        Page<OpeningSummary> dbOpenings = openingService.getAllOpenings(pageSize, pageNumber, appliedBySelf, postedBySelf);
+        // Skills are many-to-many, so they are fetched for the whole page in a second query only when requested
+        List<OpeningSkillSummary> skills = !expansion.includes("skills") ? List.of() :
+                openingService.getSkillsForOpenings(dbOpenings.getContent().stream().map(OpeningSummary::id).toList());
         OpeningsListResponse response = OpeningsListResponse.builder()
-                .openings(openingMapper.entityToModel(dbOpenings.getContent()))
+                .openings(openingMapper.summaryToModel(dbOpenings.getContent(), skills, expansion))
                 .totalElements(dbOpenings.getTotalElements())
                 .build();
         return ResponseEntity.ok(response);
@@ -75,16 +81,17 @@ public class OpeningController {
      * Retrieves a list of openings for a specific project.
      *
      * @param projectId The ID of the project.
+     * @param expand    Optional comma-separated nested objects to resolve (recruiter, project, skills); all when omitted.
      * @return A response containing a list of openings for the specified project.
      */
     // Get openings for a specific project
     @GetMapping("/projects/{projectId}")
     @Operation(summary = "Get openings for a project", description = "Retrieve a list of openings for a specific project")
     @ApiResponse(responseCode = "200", description = "Openings retrieved successfully", content = @Content(schema = @Schema(implementation = List.class)))
-    public ResponseEntity<List<com.theja.projectallocationservice.dto.Opening>> getAllOpeningsForProject(@PathVariable Long projectId) {
+    public ResponseEntity<List<com.theja.projectallocationservice.dto.Opening>> getAllOpeningsForProject(@PathVariable Long projectId, @RequestParam(required = false) String expand) {
         // Fetch openings for a specific project and return a list of opening models
         List<Opening> openings = openingService.getAllOpeningsForProject(projectId);
-        return ResponseEntity.ok(openingMapper.entityToModel(openings));
+        return ResponseEntity.ok(openingMapper.entityToModel(openings, Expand.parse(expand)));
     }
 
     /**
@@ -116,66 +123,31 @@ public class OpeningController {
     @PostMapping("/projects/{projectId}")
     @Operation(summary = "Create opening", description = "Create a new opening for a specific project")
     @ApiResponse(responseCode = "201", description = "Opening created successfully", content = @Content(schema = @Schema(implementation = com.theja.projectallocationservice.dto.Opening.class)))
+    @RequiresPermission(value = PermissionName.CREATE_OPENING, action = "Create opening", message = "You don't have permission to create an opening.")
     public ResponseEntity<com.theja.projectallocationservice.dto.Opening> createOpening(@RequestBody @Validated Opening opening, @PathVariable Long projectId) {
-        // Create an audit log for creating an opening
-        AuditLog auditLog = auditLogService.createAuditLog(
-                AuditLog.builder()
-                        .action("Create Opening for project " + projectId)
-                        .userId(requestContext.getLoggedinUser().getId())
-                        .loggedAt(new Date())
-                        .auditComments(new ArrayList<>())
-                        .build());
-        auditCommentService.createAuditComment(AuditComment.builder()
-                        .comment("Checking user permissions")
-                        .auditLog(auditLog)
-                .build());
-        // Check user permissions to create an opening
-        if (requestContext.getPermissions() == null || !requestContext.getPermissions().contains(PermissionName.CREATE_OPENING.toString())) {
-            auditCommentService.createAuditComment(AuditComment.builder()
-                    .comment("Unauthorized user trying to create opening")
-                    .auditLog(auditLog)
-                    .build());
-            throw new UnauthorizedAccessException("You don't have permission to create an opening.");
-        }
-        auditCommentService.createAuditComment(AuditComment.builder()
-                .comment("Permissions passed")
-                .auditLog(auditLog)
-                .build());
-        auditCommentService.createAuditComment(AuditComment.builder()
-                .comment("Checking if opening is duplicate")
-                .auditLog(auditLog)
-                .build());
+        // Start the audit trail for creating an opening
+        auditTrail.start("Create Opening for project " + projectId);
+        auditTrail.step("Permissions passed");
+        auditTrail.step("Checking if opening is duplicate");
         // Check if a duplicate opening with the same attributes already exists for the given project
         openingService.isDuplicateOpening(opening, projectId);
-        auditCommentService.createAuditComment(AuditComment.builder()
-                .comment("Opening is unique")
-                .auditLog(auditLog)
-                .build());
+        auditTrail.step("Opening is unique");
         // Map the opening to a project and validate skills
         opening.setProject(projectService.getProjectById(projectId));
         opening.setRecruiterId(requestContext.getLoggedinUser().getId());
-        auditCommentService.createAuditComment(AuditComment.builder()
-                .comment("Project and recruiter mapped to opening")
-                .auditLog(auditLog)
-                .build());
+        auditTrail.step("Project and recruiter mapped to opening");
         // Retrieve the Skill entities from the database using the provided skillIds
         List<Skill> skills = new ArrayList<>();
         for (Skill skill : opening.getSkills()) {
             skills.add(skillService.getSkillById(skill.getId()));
         }
         opening.setSkills(skills);
-        auditCommentService.createAuditComment(AuditComment.builder()
-                .comment("Skills assigned to opening")
-                .auditLog(auditLog)
-                .build());
+        auditTrail.step("Skills assigned to opening");
         // Set the opening status, create it, and return the response
         opening.setStatus(OpeningStatus.ACTIVE);
         Opening dbCreatedOpening = openingService.createOpening(opening, requestContext.getLoggedinUser());
         com.theja.projectallocationservice.dto.Opening createdOpening = openingMapper.entityToModel(dbCreatedOpening);
-        auditCommentService.createAuditComment(AuditComment.builder()
-                .comment("Opening created")
-                .auditLog(auditLog)
-                .build());
+        auditTrail.step("Opening created");
         return ResponseEntity.status(HttpStatus.CREATED).body(createdOpening);
     }
 
@@ -192,35 +164,16 @@ public class OpeningController {
     @PutMapping("/{id}")
     @Operation(summary = "Update opening", description = "Update the details of an existing opening")
     @ApiResponse(responseCode = "200", description = "Opening updated successfully", content = @Content(schema = @Schema(implementation = com.theja.projectallocationservice.dto.Opening.class)))
+    @RequiresPermission(value = PermissionName.MANAGE_OPENINGS, action = "Update opening", message = "You don't have permission to create an opening.")
     public ResponseEntity<com.theja.projectallocationservice.dto.Opening> updateOpening(
             @PathVariable("id") Long id,
             @RequestBody Opening opening) {
-        // Create an audit log for updating an opening
-        AuditLog auditLog = auditLogService.createAuditLog(
-                AuditLog.builder()
-                        .action("Update Opening " + id)
-                        .userId(requestContext.getLoggedinUser().getId())
-                        .loggedAt(new Date())
-                        .auditComments(new ArrayList<>())
-                        .build());
-        auditCommentService.createAuditComment(AuditComment.builder()
-                .comment("Checking user permissions")
-                .auditLog(auditLog)
-                .build());
-        // Check user permissions to update an opening
-        if (requestContext.getPermissions() == null || !requestContext.getPermissions().contains(PermissionName.MANAGE_OPENINGS.toString())) {
-            auditCommentService.createAuditComment(AuditComment.builder()
-                    .comment("Unauthorized user trying to create opening")
-                    .auditLog(auditLog)
-                    .build());
-            throw new UnauthorizedAccessException("You don't have permission to create an opening.");
-        }
+        // Start the audit trail for updating an opening
+        auditTrail.start("Update Opening " + id);
+        auditTrail.step("Permissions passed");
         // Fetch the existing opening and update its properties
         Opening existingOpening = openingService.getOpeningById(id);
-        auditCommentService.createAuditComment(AuditComment.builder()
-                .comment("Opening with " + id + " found")
-                .auditLog(auditLog)
-                .build());
+        auditTrail.step("Opening with " + id + " found");
         // Update the properties of the existingOpening with the new values from the request payload
         existingOpening.setTitle(opening.getTitle());
         existingOpening.setDetails(opening.getDetails());
@@ -228,16 +181,10 @@ public class OpeningController {
         existingOpening.setLocation(opening.getLocation());
         existingOpening.setStatus(opening.getStatus());
         existingOpening.setSkills(opening.getSkills());
-        auditCommentService.createAuditComment(AuditComment.builder()
-                .comment("Updated opening with new values")
-                .auditLog(auditLog)
-                .build());
+        auditTrail.step("Updated opening with new values");
         // Save the updated opening
         Opening updatedOpening = openingService.updateOpening(id, existingOpening);
-        auditCommentService.createAuditComment(AuditComment.builder()
-                .comment("Opening updated")
-                .auditLog(auditLog)
-                .build());
+        auditTrail.step("Opening updated");
         // Return the updated opening in the response
         com.theja.projectallocationservice.dto.Opening responseOpening = openingMapper.entityToModel(updatedOpening);
         return ResponseEntity.ok(responseOpening);
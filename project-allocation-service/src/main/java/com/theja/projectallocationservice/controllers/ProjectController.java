@@ -1,14 +1,14 @@
 package com.theja.projectallocationservice.controllers;
 
+import com.theja.projectallocationservice.config.RequiresPermission;
 import com.theja.projectallocationservice.dto.CreateProjectDTO;
 import com.theja.projectallocationservice.dto.ProjectListResponse;
+import com.theja.projectallocationservice.dto.ProjectSummary;
 import com.theja.projectallocationservice.dto.RequestContext;
 import com.theja.projectallocationservice.entities.enums.PermissionName;
-import com.theja.projectallocationservice.exceptions.UnauthorizedAccessException;
 import com.theja.projectallocationservice.mappers.ProjectMapper;
 import com.theja.projectallocationservice.entities.*;
-import com.theja.projectallocationservice.services.AuditCommentService;
-import com.theja.projectallocationservice.services.AuditLogService;
+import com.theja.projectallocationservice.services.AuditTrail;
 import com.theja.projectallocationservice.services.ProjectService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -22,8 +22,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
 
 /**
@@ -43,9 +41,7 @@ public class ProjectController {
     @Autowired
     private RequestContext requestContext;
     @Autowired
-    private AuditLogService auditLogService;
-    @Autowired
-    private AuditCommentService auditCommentService;
+    private AuditTrail auditTrail;
 
     /**
      * Retrieves a paginated list of projects.
@@ -61,9 +57,9 @@ public class ProjectController {
     public ResponseEntity<ProjectListResponse> getAllProjects(@RequestParam(required = false) Integer pageSize, @RequestParam(required = false) Integer pageNumber) {
         log.info("Request reached projects controller: with page size "+ pageSize + " with page number " + pageNumber);
         // Fetch all projects and return a list of project models with pagination details
-        Page<Project> dbProjects = projectService.getAllProjects(pageSize, pageNumber);
+        Page<ProjectSummary> dbProjects = projectService.getAllProjects(pageSize, pageNumber);
         ProjectListResponse response = ProjectListResponse.builder()
-                .projects(projectMapper.entityToModel(dbProjects.getContent()))
+                .projects(projectMapper.summaryToModel(dbProjects.getContent()))
                 .totalElements(dbProjects.getTotalElements())
                 .build();
         return ResponseEntity.ok(response);
@@ -124,37 +120,14 @@ public class ProjectController {
     @PostMapping("")
     @Operation(summary = "Create project", description = "Create a new project")
     @ApiResponse(responseCode = "201", description = "Project created successfully", content = @Content(schema = @Schema(implementation = com.theja.projectallocationservice.dto.Project.class)))
+    @RequiresPermission(value = PermissionName.CREATE_PROJECT, action = "Creating project", message = "You don't have permission to create a project.")
     public ResponseEntity<com.theja.projectallocationservice.dto.Project> createProject(@RequestBody CreateProjectDTO projectDTO) {
-        // Create an audit log for creating a project
-        AuditLog auditLog = auditLogService.createAuditLog(
-                AuditLog.builder()
-                        .action("Creating project")
-                        .userId(requestContext.getLoggedinUser().getId())
-                        .loggedAt(new Date())
-                        .auditComments(new ArrayList<>())
-                        .build());
-        auditCommentService.createAuditComment(AuditComment.builder()
-                .comment("Checking user permissions")
-                .auditLog(auditLog)
-                .build());
-        // Check user permissions to create a project
-        if (requestContext.getPermissions() == null || !requestContext.getPermissions().contains(PermissionName.CREATE_PROJECT.toString())) {
-            auditCommentService.createAuditComment(AuditComment.builder()
-                    .comment("Unauthorized user trying to create project")
-                    .auditLog(auditLog)
-                    .build());
-            throw new UnauthorizedAccessException("You don't have permission to create a project.");
-        }
-        auditCommentService.createAuditComment(AuditComment.builder()
-                .comment("Permissions passed")
-                .auditLog(auditLog)
-                .build());
+        // Start the audit trail for creating a project
+        auditTrail.start("Creating project");
+        auditTrail.step("Permissions passed");
         // Create the project, save it, and return the response
         Project dbCreatedProject = projectService.createProject(projectDTO, requestContext.getLoggedinUser());
-        auditCommentService.createAuditComment(AuditComment.builder()
-                .comment("Project created")
-                .auditLog(auditLog)
-                .build());
+        auditTrail.step("Project created");
         return ResponseEntity.status(HttpStatus.CREATED).body(projectMapper.entityToModel(dbCreatedProject));
     }
 
@@ -0,0 +1,27 @@
+package com.theja.projectallocationservice.dto;
+
+import com.theja.projectallocationservice.entities.enums.ApplicationStatus;
+import com.theja.projectallocationservice.entities.enums.OpeningStatus;
+
+import java.util.Date;
+
+/**
+ * Read-only view of an application and its opening with the columns its list DTO needs,
+ * selected directly by a projection query.
+ */
+public record ApplicationSummary(
+        Long id,                    // Unique identifier for the application
+        ApplicationStatus status,   // Status of the application
+        Date appliedAt,             // Date when the application was submitted
+        Long candidateId,           // The candidate who applied
+        OpeningSummary opening      // The opening the application is for
+) {
+    // Flat constructor used by the projection query, which cannot construct the nested opening itself
+    public ApplicationSummary(Long id, ApplicationStatus status, Date appliedAt, Long candidateId,
+                              Long openingId, String openingTitle, String openingDetails, Integer openingLevel,
+                              String openingLocation, OpeningStatus openingStatus, Long recruiterId,
+                              Long projectId, String projectTitle, String projectDetails) {
+        this(id, status, appliedAt, candidateId, new OpeningSummary(openingId, openingTitle, openingDetails,
+                openingLevel, openingLocation, openingStatus, recruiterId, projectId, projectTitle, projectDetails));
+    }
+}
@@ -0,0 +1,11 @@
+package com.theja.projectallocationservice.dto;
+
+/**
+ * Audit comment as stored in the audit archive, selected directly by a projection query when archiving.
+ */
+public record ArchivedAuditComment(
+        Long id,          // Unique identifier for the audit comment
+        Long auditLogId,  // Unique identifier for the audit log the comment belongs to
+        String comment    // The content of the audit comment
+) {
+}
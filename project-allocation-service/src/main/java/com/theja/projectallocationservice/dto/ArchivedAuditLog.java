@@ -0,0 +1,19 @@
+package com.theja.projectallocationservice.dto;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Audit log as stored in the audit archive, together with its comments.
+ */
+public record ArchivedAuditLog(
+        Long id,                                  // Unique identifier for the audit log
+        String action,                            // Describes the action performed
+        Date loggedAt,                            // The timestamp when the action was logged
+        Long userId,                              // The user associated with the action
+        String userName,                          // Name of the user at the time of the action
+        String userEmail,                         // Email of the user at the time of the action
+        String userRole,                          // Role of the user at the time of the action
+        List<ArchivedAuditComment> auditComments  // Comments associated with the audit log
+) {
+}
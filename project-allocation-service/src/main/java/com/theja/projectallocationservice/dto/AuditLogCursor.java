@@ -0,0 +1,47 @@
+package com.theja.projectallocationservice.dto;
+
+import com.theja.projectallocationservice.exceptions.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Position of the last audit log of a page, used to continue listing audit logs after it.
+ * Passed to clients as an opaque string so that its format can change.
+ */
+public record AuditLogCursor(
+        Date loggedAt,  // The timestamp of the last audit log of the page
+        Long id         // The ID of the last audit log of the page
+) {
+
+    /**
+     * Encode the cursor as an opaque URL-safe string.
+     *
+     * @return The encoded cursor.
+     */
+    public String encode() {
+        String value = loggedAt.getTime() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor previously returned to a client.
+     *
+     * @param cursor The encoded cursor, or null for the first page.
+     * @return The decoded cursor, or null if no cursor was given.
+     * @throws InvalidRequestException If the cursor cannot be decoded.
+     */
+    public static AuditLogCursor parse(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            return new AuditLogCursor(new Date(Long.parseLong(parts[0])), Long.parseLong(parts[1]));
+        }
+        catch (RuntimeException exception){
+            throw new InvalidRequestException("Invalid cursor: " + cursor);
+        }
+    }
+}
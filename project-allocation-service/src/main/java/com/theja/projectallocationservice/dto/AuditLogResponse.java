@@ -13,5 +13,6 @@ import java.util.List;
 @Getter
 public class AuditLogResponse {
     List<AuditLog> auditLogs;    // List of audit log entries
-    Long totalElements;          // Total number of audit log entries
+    Long totalElements;          // Total number of audit log entries, only counted for offset paging
+    String nextCursor;           // Cursor of the next page for keyset paging, null on the last page
 }
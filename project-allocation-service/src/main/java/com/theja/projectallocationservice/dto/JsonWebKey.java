@@ -0,0 +1,20 @@
+package com.theja.projectallocationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents a public RSA key published by user-service for verifying tokens.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class JsonWebKey {
+    private String kty; // Key type, always RSA
+    private String kid; // Key identifier referenced by the token header
+    private String alg; // Signing algorithm the key is used with
+    private String use; // Intended use of the key
+    private String n;   // Base64url encoded modulus
+    private String e;   // Base64url encoded public exponent
+}
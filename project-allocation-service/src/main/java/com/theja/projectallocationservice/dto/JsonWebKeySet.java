@@ -0,0 +1,17 @@
+package com.theja.projectallocationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Represents the set of public keys published by user-service.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class JsonWebKeySet {
+    private List<JsonWebKey> keys; // Keys currently used to sign tokens
+}
@@ -0,0 +1,11 @@
+package com.theja.projectallocationservice.dto;
+
+/**
+ * Read-only view of a skill required by an opening, selected directly by a projection query.
+ */
+public record OpeningSkillSummary(
+        Long openingId, // Unique identifier for the opening requiring the skill
+        Long skillId,   // Unique identifier for the skill
+        String title    // Title or name of the skill
+) {
+}
@@ -0,0 +1,21 @@
+package com.theja.projectallocationservice.dto;
+
+import com.theja.projectallocationservice.entities.enums.OpeningStatus;
+
+/**
+ * Read-only view of an opening and its project with the columns its list DTO needs,
+ * selected directly by a projection query.
+ */
+public record OpeningSummary(
+        Long id,                // Unique identifier for the opening
+        String title,           // Title of the opening
+        String details,         // Details/description of the opening
+        Integer level,          // Experience level required for the opening
+        String location,        // Location of the opening
+        OpeningStatus status,   // Status of the opening
+        Long recruiterId,       // The user who created the opening
+        Long projectId,         // Unique identifier for the project of the opening
+        String projectTitle,    // Title of the project
+        String projectDetails   // Details or description of the project
+) {
+}
@@ -0,0 +1,11 @@
+package com.theja.projectallocationservice.dto;
+
+/**
+ * Read-only view of a project with the columns its list DTO needs, selected directly by a projection query.
+ */
+public record ProjectSummary(
+        Long id,        // Unique identifier for the project
+        String title,   // Title of the project
+        String details  // Details or description of the project
+) {
+}
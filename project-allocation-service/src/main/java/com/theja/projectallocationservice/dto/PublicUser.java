@@ -16,5 +16,6 @@ public class PublicUser {
     private Long id;            // User's unique identifier
     private String name;        // User's name
     private String email;       // User's email
+    private String role;        // User's role
     private List<Skill> skills; // List of skills associated with the user
 }
@@ -0,0 +1,19 @@
+package com.theja.projectallocationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents the public information of a batch of users, along with the requested ids that were not found.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PublicUserBatchResponse {
+    private List<PublicUser> users = new ArrayList<>();      // Public users that were found
+    private List<Long> missingIds = new ArrayList<>();       // Requested ids that do not belong to any user
+}
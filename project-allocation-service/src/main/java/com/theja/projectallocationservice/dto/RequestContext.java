@@ -6,7 +6,9 @@ import lombok.Data;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.annotation.RequestScope;
 
-import java.util.List;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
 
 /**
  * Represents the contextual information for the current request.
@@ -16,6 +18,28 @@ import java.util.List;
 @Component
 @Data
 public class RequestContext {
-    List<PermissionName> permissions; // List of permissions associated with the user
+    EnumSet<PermissionName> permissions = EnumSet.noneOf(PermissionName.class); // Permissions associated with the user
     PublicUser loggedinUser;          // The currently logged-in user's information
+
+    /**
+     * Set the permissions of the user, stored as an EnumSet so that checks are bitmask operations.
+     *
+     * @param permissions The permissions granted to the user.
+     */
+    public void setPermissions(Collection<PermissionName> permissions) {
+        this.permissions = EnumSet.noneOf(PermissionName.class);
+        if (permissions != null) {
+            this.permissions.addAll(permissions);
+        }
+    }
+
+    /**
+     * Check whether the user holds all the given permissions.
+     *
+     * @param required The required permissions.
+     * @return True if every required permission is granted.
+     */
+    public boolean hasPermissions(Set<PermissionName> required) {
+        return permissions.containsAll(required);
+    }
 }
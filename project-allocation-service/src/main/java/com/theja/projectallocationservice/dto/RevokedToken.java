@@ -0,0 +1,18 @@
+package com.theja.projectallocationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * Represents a revoked token by its SHA-256 digest, along with the time the token expires on its own.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RevokedToken {
+    private String digest;  // SHA-256 hex digest of the revoked token
+    private Date expiresAt; // Expiry of the token, after which it no longer needs to be tracked
+}
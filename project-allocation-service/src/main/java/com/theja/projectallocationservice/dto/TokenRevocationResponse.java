@@ -0,0 +1,18 @@
+package com.theja.projectallocationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Represents an incremental page of the token revocation feed published by user-service.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TokenRevocationResponse {
+    private List<RevokedToken> tokens; // Tokens revoked after the requested position
+    private Long lastId;               // Position to continue from on the next poll
+}
@@ -0,0 +1,19 @@
+package com.theja.projectallocationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents an event published by user-service when cached user or token data becomes stale.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserEventMessage {
+    private String eventType;   // Type of the event, one of UserEventType
+    private Long userId;        // Id of the affected user, if any
+    private String tokenDigest; // SHA-256 hex digest of the affected token, if any
+    private Long expiresAt;     // Expiry of the affected token in epoch milliseconds, if any
+    private Long occurredAt;    // Time of the event in epoch milliseconds
+}
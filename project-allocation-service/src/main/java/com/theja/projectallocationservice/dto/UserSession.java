@@ -0,0 +1,22 @@
+package com.theja.projectallocationservice.dto;
+
+import com.theja.projectallocationservice.entities.enums.PermissionName;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Represents what user-service resolved for a bearer token through its introspection endpoint.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserSession {
+    private PublicUser user;                  // The user the token belongs to
+    private String role;                      // Role of the user
+    private List<PermissionName> permissions; // Permissions granted to the user
+    private Date expiresAt;                   // Expiry of the token
+}
@@ -31,7 +31,7 @@ public class Application {
     @Column(nullable = false)
     private Long candidateId;  // The candidate (applicant) associated with the application
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name="opening_id")
     private Opening opening;  // The opening (job position) associated with the application
 
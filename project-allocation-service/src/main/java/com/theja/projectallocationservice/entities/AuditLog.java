@@ -1,5 +1,6 @@
 package com.theja.projectallocationservice.entities;
 
+import com.theja.projectallocationservice.dto.PublicUser;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,7 +19,12 @@ import java.util.List;
 @NoArgsConstructor
 @Entity
 @Builder
-@Table(name = "audit_logs")
+// Indexes follow the (logged_at, id) order audit logs are listed in, so each filter can seek to a page directly
+@Table(name = "audit_logs", indexes = {
+        @Index(name = "idx_audit_logs_logged_at_id", columnList = "logged_at, id"),
+        @Index(name = "idx_audit_logs_user_logged_at_id", columnList = "userId, logged_at, id"),
+        @Index(name = "idx_audit_logs_action_logged_at_id", columnList = "action, logged_at, id")
+})
 public class AuditLog {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -32,6 +38,24 @@ public class AuditLog {
     @Column(nullable = false)
     private Long userId;  // The user associated with the action being audited
 
+    // Snapshot of the acting user at the time of the action, so that reading audit logs needs no user lookups
+    private String userName;   // Name of the user
+    private String userEmail;  // Email of the user
+    private String userRole;   // Role of the user
+
     @OneToMany(mappedBy="auditLog", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id")
     private List<AuditComment> auditComments = new ArrayList<>();  // List of comments associated with the audit log
+
+    /**
+     * Capture the acting user on the audit log.
+     *
+     * @param user The user performing the audited action.
+     */
+    public void setUser(PublicUser user) {
+        this.userId = user.getId();
+        this.userName = user.getName();
+        this.userEmail = user.getEmail();
+        this.userRole = user.getRole();
+    }
 }
@@ -33,7 +33,7 @@ public class Interview {
 
     private Date scheduledTime;  // Scheduled date and time of the interview
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "application_id")
     private Application application;  // The application associated with the interview
 }
@@ -40,7 +40,7 @@ public class Opening {
 
     private Long recruiterId;  // The user who created the job opening
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name="project_id")
     private Project project;  // The project associated with the job opening
 
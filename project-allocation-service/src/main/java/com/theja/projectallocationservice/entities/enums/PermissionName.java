@@ -18,5 +18,7 @@ public enum PermissionName {
     CREATE_OPENING,                 // Permission to create a new job opening
     VIEW_REPORTS,                   // Permission to view various reports and analytics
     VIEW_ALL_OPENINGS,              // Permission to view all job openings
-    VIEW_APPLIED_OPENINGS           // Permission to view job openings to which the user has applied
+    VIEW_APPLIED_OPENINGS,          // Permission to view job openings to which the user has applied
+    MANAGE_INTERVIEWER_STATUS,      // Permission to change whether a user can conduct interviews
+    INTERVIEWER                     // Permission to conduct interviews and submit feedback
 }
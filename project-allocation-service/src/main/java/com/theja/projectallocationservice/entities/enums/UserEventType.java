@@ -0,0 +1,10 @@
+package com.theja.projectallocationservice.entities.enums;
+
+/**
+ * Enumeration representing the kinds of user events published by user-service.
+ */
+public enum UserEventType {
+    TOKEN_REVOKED,  // A token was revoked by logging out
+    ROLE_CHANGED,   // The role, and therefore the permissions, of a user changed, or the user was deleted
+    USER_CHANGED    // A user was created, updated or deleted
+}
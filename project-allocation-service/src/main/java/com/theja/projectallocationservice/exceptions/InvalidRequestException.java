@@ -0,0 +1,10 @@
+package com.theja.projectallocationservice.exceptions;
+
+// Custom exception class to represent a request with parameters that cannot be served as given
+public class InvalidRequestException extends RuntimeException {
+
+    // Constructor that takes an error message and passes it to the parent class constructor
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.theja.projectallocationservice.exceptions;
+
+// Exception class to handle a service that is down, overloaded or shed by its circuit breaker or bulkhead
+public class ServiceUnavailableException extends ServiceClientException {
+
+    public ServiceUnavailableException(String message){
+        super(message);
+    }
+}
@@ -0,0 +1,59 @@
+package com.theja.projectallocationservice.listeners;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.theja.projectallocationservice.dto.UserEventMessage;
+import com.theja.projectallocationservice.entities.enums.UserEventType;
+import com.theja.projectallocationservice.services.PublicUserCacheService;
+import com.theja.projectallocationservice.services.TokenCacheService;
+import com.theja.projectallocationservice.services.TokenRevocationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageListener;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+// Listener that invalidates locally cached user and token data when user-service reports a change.
+@Component
+@Slf4j
+public class UserEventListener implements MessageListener {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Autowired
+    private TokenCacheService tokenCacheService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private PublicUserCacheService publicUserCacheService;
+
+    @Override
+    @RabbitListener(queues = "#{userEventsQueue.name}")
+    public void onMessage(Message message) {
+        try {
+            UserEventMessage userEventMessage = objectMapper.readValue(message.getBody(), UserEventMessage.class);
+            UserEventType eventType = UserEventType.valueOf(userEventMessage.getEventType());
+            switch (eventType) {
+                case TOKEN_REVOKED -> {
+                    tokenCacheService.evictToken(userEventMessage.getTokenDigest());
+                    tokenRevocationService.revoke(userEventMessage.getTokenDigest(), userEventMessage.getExpiresAt());
+                }
+                case ROLE_CHANGED -> {
+                    tokenCacheService.evictUser(userEventMessage.getUserId());
+                    tokenRevocationService.markUserChanged(userEventMessage.getUserId(), userEventMessage.getOccurredAt());
+                    publicUserCacheService.evictUser(userEventMessage.getUserId(), userEventMessage.getOccurredAt());
+                }
+                case USER_CHANGED -> publicUserCacheService.evictUser(userEventMessage.getUserId(), userEventMessage.getOccurredAt());
+            }
+        } catch (IllegalArgumentException exception) {
+            // Events added by newer versions of user-service are not relevant here.
+            log.info("Ignoring unknown user event");
+        } catch (Exception exception) {
+            log.info("Error consuming the user event: " + exception.getMessage());
+        }
+    }
+}
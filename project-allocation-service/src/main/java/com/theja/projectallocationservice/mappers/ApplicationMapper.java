@@ -1,29 +1,96 @@
 package com.theja.projectallocationservice.mappers;
 
+import com.theja.projectallocationservice.dto.ApplicationSummary;
+import com.theja.projectallocationservice.dto.OpeningSkillSummary;
+import com.theja.projectallocationservice.dto.OpeningSummary;
 import com.theja.projectallocationservice.entities.Application;
-import com.theja.projectallocationservice.services.UserServiceClient;
+import com.theja.projectallocationservice.services.UserLoader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Component
 public class ApplicationMapper {
     @Autowired
-    private UserServiceClient userServiceClient;
+    private UserLoader userLoader;
 
     @Autowired
     private OpeningMapper openingMapper;
 
     // Convert a list of DBApplication entities to a list of Application model objects
     public List<com.theja.projectallocationservice.dto.Application> entityToModel(List<Application> applications) {
-        return applications.stream().map(this::entityToModel).collect(Collectors.toList());
+        return entityToModel(applications, Expand.all());
+    }
+
+    // Convert a list of DBApplication entities to a list of Application model objects, resolving only the expanded objects
+    public List<com.theja.projectallocationservice.dto.Application> entityToModel(List<Application> applications, Expand expand) {
+        // Register all candidates and recruiters first so that they are resolved in one batch lookup, running while the list is mapped
+        applications.forEach(application -> registerUsers(application, expand));
+        userLoader.prefetch();
+        return applications.stream().map(application -> entityToModel(application, expand)).collect(Collectors.toList());
     }
 
     // Convert a DBApplication entity to an Application model object
     public com.theja.projectallocationservice.dto.Application entityToModel(Application application) {
+        return entityToModel(application, Expand.all());
+    }
+
+    // Convert a DBApplication entity to an Application model object, resolving only the expanded objects
+    public com.theja.projectallocationservice.dto.Application entityToModel(Application application, Expand expand) {
+        registerUsers(application, expand);
         // Map the attributes of the DBApplication entity to the corresponding attributes of the Application model
-        return new com.theja.projectallocationservice.dto.Application(application.getId(), application.getStatus(), application.getAppliedAt(), userServiceClient.getUserById(application.getCandidateId()), openingMapper.entityToModel(application.getOpening()), null);
+        return new com.theja.projectallocationservice.dto.Application(
+                application.getId(),
+                application.getStatus(),
+                application.getAppliedAt(),
+                expand.includes("candidate") ? userLoader.get(application.getCandidateId()) : null,
+                expand.includes("opening") ? openingMapper.entityToModel(application.getOpening(), expand.child("opening")) : null,
+                null
+        );
+    }
+
+    // Convert a list of read-only application summaries to a list of Application model objects, resolving only the expanded objects
+    public List<com.theja.projectallocationservice.dto.Application> summaryToModel(List<ApplicationSummary> applications, List<OpeningSkillSummary> skills, Expand expand) {
+        Expand openingExpand = expand.child("opening");
+        applications.forEach(application -> {
+            if (expand.includes("candidate")) {
+                userLoader.register(application.candidateId());
+            }
+            if (expand.includes("opening")) {
+                openingMapper.registerUsers(application.opening(), openingExpand);
+            }
+        });
+        userLoader.prefetch();
+
+        // Map each distinct opening once and share it between its applications
+        List<OpeningSummary> openings = applications.stream().map(ApplicationSummary::opening).distinct().toList();
+        Map<Long, com.theja.projectallocationservice.dto.Opening> openingsById = !expand.includes("opening") ? Map.of() :
+                openingMapper.summaryToModel(openings, skills, openingExpand).stream()
+                        .collect(Collectors.toMap(com.theja.projectallocationservice.dto.Opening::getId, opening -> opening));
+
+        return applications.stream().map(application -> new com.theja.projectallocationservice.dto.Application(
+                application.id(),
+                application.status(),
+                application.appliedAt(),
+                expand.includes("candidate") ? userLoader.get(application.candidateId()) : null,
+                openingsById.get(application.opening().id()),
+                null
+        )).collect(Collectors.toList());
+    }
+
+    // Register the expanded users referenced by a DBApplication entity and its opening with the request's user loader
+    public void registerUsers(Application application, Expand expand) {
+        if (application == null) {
+            return;
+        }
+        if (expand.includes("candidate")) {
+            userLoader.register(application.getCandidateId());
+        }
+        if (expand.includes("opening")) {
+            openingMapper.registerUsers(application.getOpening(), expand.child("opening"));
+        }
     }
 }
@@ -20,6 +20,7 @@ public class AuditCommentMapper {
     // Convert a DBAuditComment entity to an AuditComment model object
     public com.theja.projectallocationservice.dto.AuditComment entityToModel(AuditComment auditComment) {
         // Map the attributes of the DBAuditComment entity to the corresponding attributes of the AuditComment model
-        return new com.theja.projectallocationservice.dto.AuditComment(auditComment.getId(), auditComment.getComment(), auditLogMapper.entityToModel(auditComment.getAuditLog()));
+        // The audit log is mapped without its comments, which would repeat every sibling comment
+        return new com.theja.projectallocationservice.dto.AuditComment(auditComment.getId(), auditComment.getComment(), auditLogMapper.entityToModel(auditComment.getAuditLog(), Expand.parse("user")));
     }
 }
@@ -1,7 +1,9 @@
 package com.theja.projectallocationservice.mappers;
 
+import com.theja.projectallocationservice.dto.ArchivedAuditLog;
+import com.theja.projectallocationservice.dto.PublicUser;
 import com.theja.projectallocationservice.entities.AuditLog;
-import com.theja.projectallocationservice.services.UserServiceClient;
+import com.theja.projectallocationservice.services.UserLoader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -11,23 +13,67 @@ import java.util.stream.Collectors;
 @Component
 public class AuditLogMapper {
     @Autowired
-    private UserServiceClient userServiceClient;
+    private UserLoader userLoader;
 
     // Convert a list of DBAuditLog entities to a list of AuditLog model objects
     public List<com.theja.projectallocationservice.dto.AuditLog> entityToModel(List<AuditLog> auditLogs) {
-        return auditLogs.stream().map(this::entityToModel).collect(Collectors.toList());
+        return entityToModel(auditLogs, Expand.all());
+    }
+
+    // Convert a list of DBAuditLog entities to a list of AuditLog model objects, resolving only the expanded objects
+    public List<com.theja.projectallocationservice.dto.AuditLog> entityToModel(List<AuditLog> auditLogs, Expand expand) {
+        // Register the users of audit logs without a user snapshot first so that they are resolved in one batch lookup
+        if (expand.includes("user")) {
+            auditLogs.stream()
+                    .filter(auditLog -> auditLog.getUserName() == null)
+                    .forEach(auditLog -> userLoader.register(auditLog.getUserId()));
+        }
+        return auditLogs.stream().map(auditLog -> entityToModel(auditLog, expand)).collect(Collectors.toList());
     }
 
     // Convert a DBAuditLog entity to an AuditLog model object
     public com.theja.projectallocationservice.dto.AuditLog entityToModel(AuditLog auditLog) {
+        return entityToModel(auditLog, Expand.all());
+    }
+
+    // Convert a DBAuditLog entity to an AuditLog model object, resolving only the expanded objects
+    public com.theja.projectallocationservice.dto.AuditLog entityToModel(AuditLog auditLog, Expand expand) {
         // Map the attributes of the DBAuditLog entity to the corresponding attributes of the AuditLog model
-        // Note that the last argument (auditComments) is set to null; this may be intentionally left for further processing
+        // Comments are embedded without their audit log, which is the object they are embedded in
         return new com.theja.projectallocationservice.dto.AuditLog(
                 auditLog.getId(),
                 auditLog.getAction(),
                 auditLog.getLoggedAt(),
-                userServiceClient.getUserById(auditLog.getUserId()),
-                null
+                expand.includes("user") ? toUser(auditLog.getUserId(), auditLog.getUserName(), auditLog.getUserEmail(), auditLog.getUserRole()) : null,
+                expand.includes("comments") ? auditLog.getAuditComments().stream()
+                        .map(auditComment -> new com.theja.projectallocationservice.dto.AuditComment(auditComment.getId(), auditComment.getComment(), null))
+                        .collect(Collectors.toList()) : null
         );
     }
+
+    // Convert a list of archived audit logs to a list of AuditLog model objects, which always include their comments
+    public List<com.theja.projectallocationservice.dto.AuditLog> archiveToModel(List<ArchivedAuditLog> auditLogs, Expand expand) {
+        if (expand.includes("user")) {
+            auditLogs.stream()
+                    .filter(auditLog -> auditLog.userName() == null)
+                    .forEach(auditLog -> userLoader.register(auditLog.userId()));
+        }
+        return auditLogs.stream().map(auditLog -> new com.theja.projectallocationservice.dto.AuditLog(
+                auditLog.id(),
+                auditLog.action(),
+                auditLog.loggedAt(),
+                expand.includes("user") ? toUser(auditLog.userId(), auditLog.userName(), auditLog.userEmail(), auditLog.userRole()) : null,
+                auditLog.auditComments().stream()
+                        .map(auditComment -> new com.theja.projectallocationservice.dto.AuditComment(auditComment.id(), auditComment.comment(), null))
+                        .collect(Collectors.toList())
+        )).collect(Collectors.toList());
+    }
+
+    // Serve the user as captured when the action was logged; only audit logs written before snapshots existed are looked up
+    private PublicUser toUser(Long userId, String userName, String userEmail, String userRole) {
+        if (userName == null) {
+            return userLoader.get(userId);
+        }
+        return new PublicUser(userId, userName, userEmail, userRole, null);
+    }
 }
@@ -0,0 +1,69 @@
+package com.theja.projectallocationservice.mappers;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Describes which nested objects of a response are resolved, parsed from the comma-separated expand parameter.
+ * A path such as {@code application.opening.recruiter} expands every object along it; naming an object without
+ * sub-paths expands it completely. Without the parameter, everything is expanded as before.
+ */
+public final class Expand {
+
+    private static final Expand ALL = new Expand(null);
+
+    private final Set<String> paths; // Requested paths, null when everything is expanded
+
+    private Expand(Set<String> paths) {
+        this.paths = paths;
+    }
+
+    /**
+     * Expand every nested object.
+     */
+    public static Expand all() {
+        return ALL;
+    }
+
+    /**
+     * Parse the expand query parameter.
+     *
+     * @param expand Comma-separated paths of the objects to resolve, or null to resolve everything.
+     * @return The parsed expansion.
+     */
+    public static Expand parse(String expand) {
+        if (expand == null) {
+            return ALL;
+        }
+        return new Expand(Arrays.stream(expand.split(","))
+                .map(String::trim)
+                .filter(path -> !path.isEmpty())
+                .collect(Collectors.toSet()));
+    }
+
+    /**
+     * Check whether the nested object with the given name is resolved.
+     */
+    public boolean includes(String field) {
+        return paths == null || paths.stream().anyMatch(path -> path.equals(field) || path.startsWith(field + "."));
+    }
+
+    /**
+     * Get the expansion of the objects nested in the one with the given name.
+     */
+    public Expand child(String field) {
+        if (paths == null) {
+            return ALL;
+        }
+        String prefix = field + ".";
+        Set<String> childPaths = paths.stream()
+                .filter(path -> path.startsWith(prefix))
+                .map(path -> path.substring(prefix.length()))
+                .collect(Collectors.toSet());
+        if (childPaths.isEmpty() && paths.contains(field)) {
+            return ALL;
+        }
+        return new Expand(childPaths);
+    }
+}
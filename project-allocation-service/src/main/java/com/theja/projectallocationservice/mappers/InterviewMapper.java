@@ -1,7 +1,7 @@
 package com.theja.projectallocationservice.mappers;
 
 import com.theja.projectallocationservice.entities.*;
-import com.theja.projectallocationservice.services.UserServiceClient;
+import com.theja.projectallocationservice.services.UserLoader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -12,28 +12,54 @@ import java.util.stream.Collectors;
 public class InterviewMapper {
 
     @Autowired
-    private UserServiceClient userServiceClient;
+    private UserLoader userLoader;
 
     @Autowired
     private ApplicationMapper applicationMapper;
 
     // Convert a list of DBInterview entities to a list of Interview model objects
     public List<com.theja.projectallocationservice.dto.Interview> entityToModel(List<Interview> interviews) {
-        return interviews.stream().map(this::entityToModel).collect(Collectors.toList());
+        return entityToModel(interviews, Expand.all());
+    }
+
+    // Convert a list of DBInterview entities to a list of Interview model objects, resolving only the expanded objects
+    public List<com.theja.projectallocationservice.dto.Interview> entityToModel(List<Interview> interviews, Expand expand) {
+        // Register all interviewers, candidates and recruiters first so that they are resolved in one batch lookup, running while the list is mapped
+        interviews.forEach(interview -> registerUsers(interview, expand));
+        userLoader.prefetch();
+        return interviews.stream().map(interview -> entityToModel(interview, expand)).collect(Collectors.toList());
     }
 
     // Convert a DBInterview entity to an Interview model object
     public com.theja.projectallocationservice.dto.Interview entityToModel(Interview interview) {
+        return entityToModel(interview, Expand.all());
+    }
+
+    // Convert a DBInterview entity to an Interview model object, resolving only the expanded objects
+    public com.theja.projectallocationservice.dto.Interview entityToModel(Interview interview, Expand expand) {
+        registerUsers(interview, expand);
         // Map the attributes of the DBInterview entity to the corresponding attributes of the Interview model
-        // Note that the last argument (auditComments) is set to null; this may be intentionally left for further processing
         return new com.theja.projectallocationservice.dto.Interview(
                 interview.getId(),
                 interview.getTitle(),
-                userServiceClient.getUserById(interview.getInterviewerId()),
+                expand.includes("interviewer") ? userLoader.get(interview.getInterviewerId()) : null,
                 interview.getStatus(),
                 interview.getFeedback(),
                 interview.getScheduledTime(),
-                applicationMapper.entityToModel(interview.getApplication())
+                expand.includes("application") ? applicationMapper.entityToModel(interview.getApplication(), expand.child("application")) : null
         );
     }
+
+    // Register the expanded users referenced by a DBInterview entity and its application with the request's user loader
+    public void registerUsers(Interview interview, Expand expand) {
+        if (interview == null) {
+            return;
+        }
+        if (expand.includes("interviewer")) {
+            userLoader.register(interview.getInterviewerId());
+        }
+        if (expand.includes("application")) {
+            applicationMapper.registerUsers(interview.getApplication(), expand.child("application"));
+        }
+    }
 }
@@ -1,11 +1,14 @@
 package com.theja.projectallocationservice.mappers;
 
+import com.theja.projectallocationservice.dto.OpeningSkillSummary;
+import com.theja.projectallocationservice.dto.OpeningSummary;
 import com.theja.projectallocationservice.entities.Opening;
-import com.theja.projectallocationservice.services.UserServiceClient;
+import com.theja.projectallocationservice.services.UserLoader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Component
@@ -15,17 +18,83 @@ public class OpeningMapper {
     @Autowired
     private SkillMapper skillMapper;
     @Autowired
-    private UserServiceClient userServiceClient;
+    private UserLoader userLoader;
 
     // Convert a list of DBOpening entities to a list of Opening model objects
     public List<com.theja.projectallocationservice.dto.Opening> entityToModel(List<Opening> openings) {
-        return openings.stream().map(this::entityToModel).collect(Collectors.toList());
+        return entityToModel(openings, Expand.all());
+    }
+
+    // Convert a list of DBOpening entities to a list of Opening model objects, resolving only the expanded objects
+    public List<com.theja.projectallocationservice.dto.Opening> entityToModel(List<Opening> openings, Expand expand) {
+        // Register all recruiters first so that they are resolved in one batch lookup, running while the list is mapped
+        openings.forEach(opening -> registerUsers(opening, expand));
+        userLoader.prefetch();
+        return openings.stream().map(opening -> entityToModel(opening, expand)).collect(Collectors.toList());
     }
 
     // Convert a DBOpening entity to an Opening model object
     public com.theja.projectallocationservice.dto.Opening entityToModel(Opening opening) {
+        return entityToModel(opening, Expand.all());
+    }
+
+    // Convert a DBOpening entity to an Opening model object, resolving only the expanded objects
+    public com.theja.projectallocationservice.dto.Opening entityToModel(Opening opening, Expand expand) {
+        registerUsers(opening, expand);
         // Map the attributes of the DBOpening entity to the corresponding attributes of the Opening model
-        // Note that the last argument (interviews) is set to null; this may be intentionally left for further processing
-        return new com.theja.projectallocationservice.dto.Opening(opening.getId(), opening.getTitle(), opening.getDetails(), opening.getLevel(), opening.getLocation(), opening.getStatus(), userServiceClient.getUserById(opening.getRecruiterId()), projectMapper.entityToModel(opening.getProject()), null, skillMapper.entityToModel(opening.getSkills()));
+        // Note that the applications argument is set to null; this may be intentionally left for further processing
+        return new com.theja.projectallocationservice.dto.Opening(
+                opening.getId(),
+                opening.getTitle(),
+                opening.getDetails(),
+                opening.getLevel(),
+                opening.getLocation(),
+                opening.getStatus(),
+                expand.includes("recruiter") ? userLoader.get(opening.getRecruiterId()) : null,
+                expand.includes("project") ? projectMapper.entityToModel(opening.getProject()) : null,
+                null,
+                expand.includes("skills") ? skillMapper.entityToModel(opening.getSkills()) : null
+        );
+    }
+
+    // Convert a list of read-only opening summaries to a list of Opening model objects, resolving only the expanded objects
+    public List<com.theja.projectallocationservice.dto.Opening> summaryToModel(List<OpeningSummary> openings, List<OpeningSkillSummary> skills, Expand expand) {
+        openings.forEach(opening -> registerUsers(opening, expand));
+        Map<Long, List<com.theja.projectallocationservice.dto.Skill>> skillsByOpening = skills.stream()
+                .collect(Collectors.groupingBy(OpeningSkillSummary::openingId, Collectors.mapping(
+                        skill -> new com.theja.projectallocationservice.dto.Skill(skill.skillId(), skill.title(), null),
+                        Collectors.toList())));
+        return openings.stream().map(opening -> summaryToModel(opening, skillsByOpening, expand)).collect(Collectors.toList());
+    }
+
+    // Convert a read-only opening summary to an Opening model object, taking its skills from the given map
+    public com.theja.projectallocationservice.dto.Opening summaryToModel(OpeningSummary opening, Map<Long, List<com.theja.projectallocationservice.dto.Skill>> skillsByOpening, Expand expand) {
+        registerUsers(opening, expand);
+        return new com.theja.projectallocationservice.dto.Opening(
+                opening.id(),
+                opening.title(),
+                opening.details(),
+                opening.level(),
+                opening.location(),
+                opening.status(),
+                expand.includes("recruiter") ? userLoader.get(opening.recruiterId()) : null,
+                expand.includes("project") ? new com.theja.projectallocationservice.dto.Project(opening.projectId(), opening.projectTitle(), opening.projectDetails(), null, null) : null,
+                null,
+                expand.includes("skills") ? skillsByOpening.getOrDefault(opening.id(), List.of()) : null
+        );
+    }
+
+    // Register the expanded users referenced by a read-only opening summary with the request's user loader
+    public void registerUsers(OpeningSummary opening, Expand expand) {
+        if (opening != null && expand.includes("recruiter")) {
+            userLoader.register(opening.recruiterId());
+        }
+    }
+
+    // Register the expanded users referenced by a DBOpening entity with the request's user loader
+    public void registerUsers(Opening opening, Expand expand) {
+        if (opening != null && expand.includes("recruiter")) {
+            userLoader.register(opening.getRecruiterId());
+        }
     }
 }
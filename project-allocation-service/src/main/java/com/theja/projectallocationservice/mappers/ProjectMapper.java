@@ -1,5 +1,6 @@
 package com.theja.projectallocationservice.mappers;
 
+import com.theja.projectallocationservice.dto.ProjectSummary;
 import com.theja.projectallocationservice.entities.Project;
 import com.theja.projectallocationservice.services.UserServiceClient;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,6 +20,16 @@ public class ProjectMapper {
         return projects.stream().map(this::entityToModel).collect(Collectors.toList());
     }
 
+    // Convert a list of read-only project summaries to a list of Project model objects
+    public List<com.theja.projectallocationservice.dto.Project> summaryToModel(List<ProjectSummary> projects) {
+        return projects.stream().map(this::summaryToModel).collect(Collectors.toList());
+    }
+
+    // Convert a read-only project summary to a Project model object
+    public com.theja.projectallocationservice.dto.Project summaryToModel(ProjectSummary project) {
+        return new com.theja.projectallocationservice.dto.Project(project.id(), project.title(), project.details(), null, null);
+    }
+
     // Convert a DBProject entity to a Project model object
     public com.theja.projectallocationservice.dto.Project entityToModel(Project project) {
         // Map the attributes of the DBProject entity to the corresponding attributes of the Project model
@@ -1,10 +1,13 @@
 package com.theja.projectallocationservice.repositories;
 
+import com.theja.projectallocationservice.dto.ApplicationSummary;
 import com.theja.projectallocationservice.entities.enums.ApplicationStatus;
 import com.theja.projectallocationservice.entities.Application;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -31,5 +34,21 @@ public interface ApplicationRepository extends JpaRepository<Application, Long>
      */
     Page<Application> findByStatus(ApplicationStatus status, Pageable pageable);
 
+    /**
+     * Find read-only application summaries, optionally by status, selecting only the application, opening and
+     * project columns shown in application lists.
+     *
+     * @param status   The status of applications to search for, or null for all applications.
+     * @param pageable Pageable object specifying the page number, size, and sorting.
+     * @return A Page of application summaries.
+     */
+    @Query(value = "SELECT new com.theja.projectallocationservice.dto.ApplicationSummary(" +
+            "a.id, a.status, a.appliedAt, a.candidateId, " +
+            "o.id, o.title, o.details, o.level, o.location, o.status, o.recruiterId, p.id, p.title, p.details) " +
+            "FROM Application a JOIN a.opening o JOIN o.project p " +
+            "WHERE (:status IS NULL OR a.status = :status)",
+            countQuery = "SELECT COUNT(a) FROM Application a WHERE (:status IS NULL OR a.status = :status)")
+    Page<ApplicationSummary> findSummariesByStatus(@Param("status") ApplicationStatus status, Pageable pageable);
+
     // Custom query methods or additional repository operations can be defined here if needed
 }
@@ -1,9 +1,14 @@
 package com.theja.projectallocationservice.repositories;
 
+import com.theja.projectallocationservice.dto.ArchivedAuditComment;
 import com.theja.projectallocationservice.entities.AuditComment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -19,4 +24,24 @@ public interface AuditCommentRepository extends JpaRepository<AuditComment, Long
      * @return A list of audit comments associated with the specified audit log ID.
      */
     List<AuditComment> findByAuditLogId(Long auditLogId);
+
+    /**
+     * Retrieves the comments of the given audit logs as archive records, without loading the audit logs again.
+     *
+     * @param auditLogIds The IDs of the audit logs.
+     * @return The comments of the audit logs, in ID order.
+     */
+    @Query("SELECT new com.theja.projectallocationservice.dto.ArchivedAuditComment(c.id, c.auditLog.id, c.comment) " +
+            "FROM AuditComment c WHERE c.auditLog.id IN :auditLogIds ORDER BY c.id")
+    List<ArchivedAuditComment> findArchivedComments(@Param("auditLogIds") Collection<Long> auditLogIds);
+
+    /**
+     * Delete the comments of the given audit logs.
+     *
+     * @param auditLogIds The IDs of the audit logs.
+     * @return The number of deleted audit comments.
+     */
+    @Modifying
+    @Query("DELETE FROM AuditComment c WHERE c.auditLog.id IN :auditLogIds")
+    int deleteByAuditLogIdIn(@Param("auditLogIds") Collection<Long> auditLogIds);
 }
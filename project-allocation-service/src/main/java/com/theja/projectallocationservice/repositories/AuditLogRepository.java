@@ -1,9 +1,16 @@
 package com.theja.projectallocationservice.repositories;
 
 import com.theja.projectallocationservice.entities.AuditLog;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 /**
@@ -12,11 +19,121 @@ import java.util.List;
 @Repository
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
 
+    // Filters audit logs by user, action prefix (with '!' as escape character) and time range; a null parameter disables its filter.
+    String AUDIT_LOG_FILTER = "(:userId IS NULL OR a.userId = :userId) " +
+            "AND (:actionPrefix IS NULL OR a.action LIKE CONCAT(:actionPrefix, '%') ESCAPE '!') " +
+            "AND (:from IS NULL OR a.loggedAt >= :from) " +
+            "AND (:to IS NULL OR a.loggedAt < :to)";
+
+    /**
+     * Retrieves the first audit logs matching the filters, newest first.
+     *
+     * @param userId       The ID of the user associated with the audit logs, or null for all users.
+     * @param actionPrefix The escaped prefix of the audited action, or null for all actions.
+     * @param from         Start of the time range, inclusive, or null for no lower bound.
+     * @param to           End of the time range, exclusive, or null for no upper bound.
+     * @param pageable     The maximum number of audit logs to retrieve.
+     * @return The newest matching audit logs, ordered by logged at and ID descending.
+     */
+    @Query("SELECT a FROM AuditLog a WHERE " + AUDIT_LOG_FILTER + " ORDER BY a.loggedAt DESC, a.id DESC")
+    List<AuditLog> findFiltered(@Param("userId") Long userId, @Param("actionPrefix") String actionPrefix,
+                                @Param("from") Date from, @Param("to") Date to, Pageable pageable);
+
+    /**
+     * Retrieves the audit logs matching the filters that come after the given position, newest first.
+     * The position is compared on (logged_at, id) so the query seeks directly into the index instead of skipping rows.
+     *
+     * @param userId         The ID of the user associated with the audit logs, or null for all users.
+     * @param actionPrefix   The escaped prefix of the audited action, or null for all actions.
+     * @param from           Start of the time range, inclusive, or null for no lower bound.
+     * @param to             End of the time range, exclusive, or null for no upper bound.
+     * @param cursorLoggedAt The logged at timestamp of the last audit log already retrieved.
+     * @param cursorId       The ID of the last audit log already retrieved.
+     * @param pageable       The maximum number of audit logs to retrieve.
+     * @return The next matching audit logs, ordered by logged at and ID descending.
+     */
+    @Query("SELECT a FROM AuditLog a WHERE " + AUDIT_LOG_FILTER +
+            " AND (a.loggedAt < :cursorLoggedAt OR (a.loggedAt = :cursorLoggedAt AND a.id < :cursorId))" +
+            " ORDER BY a.loggedAt DESC, a.id DESC")
+    List<AuditLog> findFilteredAfter(@Param("userId") Long userId, @Param("actionPrefix") String actionPrefix,
+                                     @Param("from") Date from, @Param("to") Date to,
+                                     @Param("cursorLoggedAt") Date cursorLoggedAt, @Param("cursorId") Long cursorId,
+                                     Pageable pageable);
+
+    /**
+     * Retrieves a page of audit logs matching the filters, using offset paging.
+     *
+     * @param userId       The ID of the user associated with the audit logs, or null for all users.
+     * @param actionPrefix The escaped prefix of the audited action, or null for all actions.
+     * @param from         Start of the time range, inclusive, or null for no lower bound.
+     * @param to           End of the time range, exclusive, or null for no upper bound.
+     * @param pageable     The page to retrieve.
+     * @return A page of matching audit logs, ordered by logged at and ID descending.
+     */
+    @Query(value = "SELECT a FROM AuditLog a WHERE " + AUDIT_LOG_FILTER + " ORDER BY a.loggedAt DESC, a.id DESC",
+            countQuery = "SELECT COUNT(a) FROM AuditLog a WHERE " + AUDIT_LOG_FILTER)
+    Page<AuditLog> findFilteredPage(@Param("userId") Long userId, @Param("actionPrefix") String actionPrefix,
+                                    @Param("from") Date from, @Param("to") Date to, Pageable pageable);
+
+    /**
+     * Load the comments of the given audit logs with one join, initializing their auditComments collections.
+     *
+     * @param ids The IDs of the audit logs.
+     * @return The audit logs with their comments.
+     */
+    @Query("SELECT DISTINCT a FROM AuditLog a LEFT JOIN FETCH a.auditComments WHERE a.id IN :ids")
+    List<AuditLog> fetchAuditComments(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find the next IDs of users with audit logs written before user snapshots were captured.
+     *
+     * @param afterUserId The last user ID already retrieved.
+     * @param pageable    The maximum number of user IDs to retrieve.
+     * @return Distinct user IDs greater than afterUserId, in ascending order.
+     */
+    @Query("SELECT DISTINCT a.userId FROM AuditLog a WHERE a.userName IS NULL AND a.userId > :afterUserId ORDER BY a.userId")
+    List<Long> findUserIdsWithoutSnapshot(@Param("afterUserId") Long afterUserId, Pageable pageable);
+
+    /**
+     * Fill the user snapshot of the audit logs of a user that do not have one yet.
+     *
+     * @param userId The ID of the user.
+     * @param name   Name of the user.
+     * @param email  Email of the user.
+     * @param role   Role of the user.
+     * @return The number of updated audit logs.
+     */
+    @Modifying
+    @Query("UPDATE AuditLog a SET a.userName = :name, a.userEmail = :email, a.userRole = :role WHERE a.userId = :userId AND a.userName IS NULL")
+    int fillUserSnapshot(@Param("userId") Long userId, @Param("name") String name, @Param("email") String email, @Param("role") String role);
+
+    /**
+     * Find the timestamp of the oldest audit log still stored in the database.
+     *
+     * @return The oldest logged at timestamp, or null if there are no audit logs.
+     */
+    @Query("SELECT MIN(a.loggedAt) FROM AuditLog a")
+    Date findOldestLoggedAt();
+
+    /**
+     * Find the next audit logs logged within a time range, in ID order.
+     *
+     * @param from     Start of the time range, inclusive.
+     * @param to       End of the time range, exclusive.
+     * @param afterId  ID of the last audit log already retrieved.
+     * @param pageable The maximum number of audit logs to retrieve.
+     * @return The audit logs logged within the time range with an ID greater than afterId.
+     */
+    @Query("SELECT a FROM AuditLog a WHERE a.loggedAt >= :from AND a.loggedAt < :to AND a.id > :afterId ORDER BY a.id")
+    List<AuditLog> findLoggedBetween(@Param("from") Date from, @Param("to") Date to, @Param("afterId") Long afterId, Pageable pageable);
+
     /**
-     * Find audit logs by user ID.
+     * Delete audit logs by their IDs. Their comments have to be deleted first.
      *
-     * @param userId The ID of the user associated with the audit logs.
-     * @return A list of audit logs associated with the specified user ID.
+     * @param ids The IDs of the audit logs to delete.
+     * @return The number of deleted audit logs.
      */
-    List<AuditLog> findByUserId(Long userId);
+    @Modifying
+    @Query("DELETE FROM AuditLog a WHERE a.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
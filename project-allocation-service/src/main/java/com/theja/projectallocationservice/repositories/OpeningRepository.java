@@ -1,5 +1,7 @@
 package com.theja.projectallocationservice.repositories;
 
+import com.theja.projectallocationservice.dto.OpeningSkillSummary;
+import com.theja.projectallocationservice.dto.OpeningSummary;
 import com.theja.projectallocationservice.entities.Opening;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.Page;
@@ -8,6 +10,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -24,21 +27,45 @@ public interface OpeningRepository extends JpaRepository<Opening, Long> {
      */
     List<Opening> findByProjectId(Long projectId);
 
+    // Filters openings by whether the logged-in user applied to them and whether they posted them; a null flag disables its filter.
+    String OPENING_FILTER = "(:appliedBy IS NULL " +
+            "OR (:appliedBy = TRUE AND EXISTS (SELECT a.id FROM Application a WHERE a.opening = o AND a.candidateId = :loggedinUserId)) " +
+            "OR (:appliedBy = FALSE AND NOT EXISTS (SELECT a.id FROM Application a WHERE a.opening = o AND a.candidateId = :loggedinUserId))) " +
+            "AND (:postedBy IS NULL " +
+            "OR (:postedBy = TRUE AND o.recruiterId = :loggedinUserId) " +
+            "OR (:postedBy = FALSE AND o.recruiterId <> :loggedinUserId))";
+
     /**
-     * Retrieves a pageable list of openings based on appliedBy and postedBy conditions.
+     * Retrieves a page of read-only opening summaries based on appliedBy and postedBy conditions,
+     * selecting only the opening and project columns shown in opening lists.
      *
      * @param appliedBy      Specifies if openings are filtered by those applied by the logged-in user.
      * @param postedBy       Specifies if openings are filtered by those posted by the logged-in user.
      * @param pageable       Pageable object to control pagination and sorting.
      * @param loggedinUserId ID of the logged-in user.
-     * @return A Page containing filtered openings.
+     * @return A Page containing filtered opening summaries.
+     */
+    @Query(value = "SELECT new com.theja.projectallocationservice.dto.OpeningSummary(" +
+            "o.id, o.title, o.details, o.level, o.location, o.status, o.recruiterId, p.id, p.title, p.details) " +
+            "FROM Opening o JOIN o.project p " +
+            "WHERE " + OPENING_FILTER,
+            countQuery = "SELECT COUNT(o) FROM Opening o WHERE " + OPENING_FILTER)
+    Page<OpeningSummary> fetchOpeningSummaries(
+            @Param("appliedBy") Boolean appliedBy,
+            @Param("postedBy") Boolean postedBy,
+            Pageable pageable,
+            @Param("loggedinUserId") Long loggedinUserId
+    );
+
+    /**
+     * Retrieves the skills required by the given openings as read-only summaries.
+     *
+     * @param openingIds The IDs of the openings.
+     * @return The skills of the openings, one entry per opening and skill.
      */
-    @Query(value = "SELECT DISTINCT o.* FROM openings o LEFT JOIN applications a ON o.id = a.opening_id\n" +
-            "    WHERE ((:appliedBy IS null) OR (:appliedBy IS TRUE AND a.candidateId = :loggedinUserId) OR (:appliedBy IS FALSE AND (a.candidateId IS null\n" +
-            "            OR o.id not in (SELECT op.id FROM openings op JOIN applications ap ON ap.opening_id = op.id WHERE ap.candidateId = :loggedinUserId))))\n" +
-            "    AND ((:postedBy IS null) OR (:postedBy IS TRUE AND o.recruiterId = :loggedinUserId) OR (:postedBy IS FALSE AND o.recruiterId != :loggedinUserId))",
-            nativeQuery = true, countProjection = "*")
-    Page<Opening> fetchOpenings(Boolean appliedBy, Boolean postedBy, Pageable pageable, Long loggedinUserId);
+    @Query("SELECT new com.theja.projectallocationservice.dto.OpeningSkillSummary(o.id, s.id, s.title) " +
+            "FROM Opening o JOIN o.skills s WHERE o.id IN :openingIds")
+    List<OpeningSkillSummary> findSkillSummaries(@Param("openingIds") Collection<Long> openingIds);
 
     /**
      * Checks if an opening with the same combination of attributes exists for the specified project.
@@ -1,6 +1,9 @@
 package com.theja.projectallocationservice.repositories;
 
+import com.theja.projectallocationservice.dto.ProjectSummary;
 import com.theja.projectallocationservice.entities.Project;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -22,5 +25,15 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     @Query(value = "SELECT p.* FROM projects p JOIN users_projects up ON p.id = up.project_id WHERE up.user_id = :userId", nativeQuery = true)
     List<Project> getProjectsForUser(Long userId);
 
+    /**
+     * Retrieves a page of read-only project summaries, selecting only the columns shown in project lists.
+     *
+     * @param pageable Pageable object to control pagination and sorting.
+     * @return A page of project summaries.
+     */
+    @Query(value = "SELECT new com.theja.projectallocationservice.dto.ProjectSummary(p.id, p.title, p.details) FROM Project p",
+            countQuery = "SELECT COUNT(p) FROM Project p")
+    Page<ProjectSummary> findAllSummaries(Pageable pageable);
+
     // You can define additional custom query methods here if needed
 }
@@ -1,5 +1,6 @@
 package com.theja.projectallocationservice.services;
 
+import com.theja.projectallocationservice.dto.ApplicationSummary;
 import com.theja.projectallocationservice.dto.EmailMessage;
 import com.theja.projectallocationservice.dto.PublicUser;
 import com.theja.projectallocationservice.entities.enums.ApplicationStatus;
@@ -35,15 +36,11 @@ public class ApplicationService {
      *
      * @param status   The status of applications to retrieve.
      * @param pageable Pageable object for pagination.
-     * @return A page of applications with the specified status.
+     * @return A page of read-only application summaries with the specified status.
      */
-    public Page<Application> getAllApplicationsByStatus(ApplicationStatus status, Pageable pageable) {
+    public Page<ApplicationSummary> getAllApplicationsByStatus(ApplicationStatus status, Pageable pageable) {
         try {
-            if (status == null) {
-                return applicationRepository.findAll(pageable);
-            } else {
-                return applicationRepository.findByStatus(status, pageable);
-            }
+            return applicationRepository.findSummariesByStatus(status, pageable);
         }
         catch (DataAccessException exception){
             throw new DatabaseAccessException("Error accessing the database");
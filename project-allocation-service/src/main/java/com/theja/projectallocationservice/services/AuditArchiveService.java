@@ -0,0 +1,317 @@
+package com.theja.projectallocationservice.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.theja.projectallocationservice.dto.ArchivedAuditComment;
+import com.theja.projectallocationservice.dto.ArchivedAuditLog;
+import com.theja.projectallocationservice.entities.AuditLog;
+import com.theja.projectallocationservice.exceptions.ServerSideGeneralException;
+import com.theja.projectallocationservice.repositories.AuditCommentRepository;
+import com.theja.projectallocationservice.repositories.AuditLogRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Service class that moves audit logs older than the retention period out of the database into a compressed archive.
+ * <p>
+ * Audit logs are archived per calendar month (UTC). Each month is an append-only data file of gzip blocks, each block
+ * holding up to AUDIT_ARCHIVE_BLOCK_SIZE audit logs with their comments as JSON lines, and an append-only index file
+ * describing every block by its position, time range and users. Archived history is queried through the index,
+ * decompressing only the blocks that can contain matching audit logs.
+ * <p>
+ * Archived rows are deleted from the database, so nothing is archived unless AUDIT_ARCHIVE_DIR names an existing
+ * directory on persistent storage, such as a mounted volume shared by all instances. The directory is never created
+ * by the service, so a missing mount stops archiving instead of writing into the container. Only the instance
+ * holding a database lock archives at a time.
+ */
+@Slf4j
+@Service
+public class AuditArchiveService {
+
+    private static final String ARCHIVE_LOCK = "audit_archive";
+    private static final Pattern INDEX_FILE_NAME = Pattern.compile("audit-(\\d{4}-\\d{2})\\.idx");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private AuditCommentRepository auditCommentRepository;
+
+    @Autowired
+    private AuditLogService auditLogService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private Environment environment;
+
+    // Index entry of one gzip block in a monthly data file
+    record ArchiveBlock(long offset, int length, long fromLoggedAt, long toLoggedAt, Set<Long> userIds) {
+    }
+
+    private Integer getRetentionMonths() {
+        return environment.getProperty("AUDIT_RETENTION_MONTHS", Integer.class, 6);
+    }
+
+    // Directory of the archive, or null if it is not configured; a blank value counts as not configured
+    private Path getArchiveDirectory() {
+        String directory = environment.getProperty("AUDIT_ARCHIVE_DIR");
+        return directory == null || directory.isBlank() ? null : Path.of(directory.trim());
+    }
+
+    private Integer getBlockSize() {
+        return environment.getProperty("AUDIT_ARCHIVE_BLOCK_SIZE", Integer.class, 1000);
+    }
+
+    private Integer getQueryLimit() {
+        return environment.getProperty("AUDIT_ARCHIVE_QUERY_LIMIT", Integer.class, 1000);
+    }
+
+    /**
+     * Archives every month older than the retention period and removes its audit logs from the database.
+     */
+    @Scheduled(fixedDelayString = "${AUDIT_ARCHIVE_INTERVAL:86400000}", initialDelayString = "${AUDIT_ARCHIVE_INTERVAL:86400000}")
+    public void archiveExpiredAuditLogs() {
+        Path directory = getArchiveDirectory();
+        if (!isPersistentArchive(directory)) {
+            log.warn("Not archiving audit logs, AUDIT_ARCHIVE_DIR must name an existing, writable absolute directory on a persistent volume");
+            return;
+        }
+        YearMonth cutoff = YearMonth.now(ZoneOffset.UTC).minusMonths(getRetentionMonths());
+        // The lock belongs to this connection, so it is released when the connection is closed, even after a crash
+        try (Connection lockConnection = dataSource.getConnection()) {
+            if (!acquireArchiveLock(lockConnection)) {
+                log.info("Audit logs are being archived by another instance");
+                return;
+            }
+            Date oldest = auditLogRepository.findOldestLoggedAt();
+            if (oldest == null) {
+                return;
+            }
+            for (YearMonth month = YearMonth.from(oldest.toInstant().atZone(ZoneOffset.UTC)); month.isBefore(cutoff); month = month.plusMonths(1)) {
+                int archived = archiveMonth(directory, month);
+                if (archived > 0) {
+                    log.info("Archived {} audit logs of {}", archived, month);
+                }
+            }
+        }
+        catch (Exception exception){
+            // Whatever was not archived stays in the database and is picked up by the next run
+            log.warn("Could not archive audit logs: " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Retrieves archived audit logs of a user and/or a time range. Only blocks whose index entry can match are read.
+     *
+     * @param userId The ID of the user, or null for all users.
+     * @param from   Start of the time range, inclusive, or null for no lower bound.
+     * @param to     End of the time range, exclusive, or null for no upper bound.
+     * @return The matching archived audit logs in the order they were logged, up to AUDIT_ARCHIVE_QUERY_LIMIT.
+     */
+    public List<ArchivedAuditLog> findArchivedAuditLogs(Long userId, Date from, Date to) {
+        Path directory = getArchiveDirectory();
+        if (directory == null || !Files.isDirectory(directory)) {
+            return List.of();
+        }
+        int limit = getQueryLimit();
+        YearMonth firstMonth = from == null ? null : YearMonth.from(from.toInstant().atZone(ZoneOffset.UTC));
+        YearMonth lastMonth = to == null ? null : YearMonth.from(to.toInstant().atZone(ZoneOffset.UTC));
+
+        // Keyed by id, since a block may be archived twice if the service stopped before its rows were deleted
+        Map<Long, ArchivedAuditLog> auditLogs = new LinkedHashMap<>();
+        try {
+            for (YearMonth month : findArchivedMonths(directory)) {
+                if ((firstMonth != null && month.isBefore(firstMonth)) || (lastMonth != null && month.isAfter(lastMonth))) {
+                    continue;
+                }
+                for (ArchiveBlock block : readIndex(indexFile(directory, month))) {
+                    if (!blockMatches(block, userId, from, to)) {
+                        continue;
+                    }
+                    for (ArchivedAuditLog auditLog : readBlock(dataFile(directory, month), block)) {
+                        if (auditLogMatches(auditLog, userId, from, to)) {
+                            auditLogs.putIfAbsent(auditLog.id(), auditLog);
+                            if (auditLogs.size() >= limit) {
+                                return new ArrayList<>(auditLogs.values());
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        catch (IOException exception){
+            throw new ServerSideGeneralException("Something went wrong!");
+        }
+        return new ArrayList<>(auditLogs.values());
+    }
+
+    // Archived rows are deleted, so the archive must not live in the container's own file system
+    private boolean isPersistentArchive(Path directory) {
+        return directory != null && directory.isAbsolute() && Files.isDirectory(directory) && Files.isWritable(directory);
+    }
+
+    private boolean acquireArchiveLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+            statement.setString(1, ARCHIVE_LOCK);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getInt(1) == 1;
+            }
+        }
+    }
+
+    private int archiveMonth(Path directory, YearMonth month) throws IOException {
+        Date from = Date.from(month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant());
+        Date to = Date.from(month.plusMonths(1).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant());
+        int blockSize = getBlockSize();
+        int archived = 0;
+        long afterId = 0;
+        List<AuditLog> auditLogs;
+        do {
+            auditLogs = auditLogRepository.findLoggedBetween(from, to, afterId, PageRequest.of(0, blockSize));
+            if (auditLogs.isEmpty()) {
+                break;
+            }
+            List<Long> ids = auditLogs.stream().map(AuditLog::getId).toList();
+            Map<Long, List<ArchivedAuditComment>> comments = auditCommentRepository.findArchivedComments(ids).stream()
+                    .collect(Collectors.groupingBy(ArchivedAuditComment::auditLogId));
+            List<ArchivedAuditLog> records = auditLogs.stream()
+                    .map(auditLog -> new ArchivedAuditLog(auditLog.getId(), auditLog.getAction(), auditLog.getLoggedAt(),
+                            auditLog.getUserId(), auditLog.getUserName(), auditLog.getUserEmail(), auditLog.getUserRole(),
+                            comments.getOrDefault(auditLog.getId(), List.of())))
+                    .toList();
+
+            // Rows are only deleted once their block and index entry are safely on disk
+            appendBlock(directory, month, records);
+            auditLogService.deleteArchivedAuditLogs(ids);
+            archived += ids.size();
+            afterId = ids.get(ids.size() - 1);
+        } while (auditLogs.size() == blockSize);
+        return archived;
+    }
+
+    private void appendBlock(Path directory, YearMonth month, List<ArchivedAuditLog> records) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(buffer), StandardCharsets.UTF_8)) {
+            for (ArchivedAuditLog record : records) {
+                writer.write(objectMapper.writeValueAsString(record));
+                writer.write('\n');
+            }
+        }
+        byte[] block = buffer.toByteArray();
+
+        long offset = append(dataFile(directory, month), block);
+        ArchiveBlock entry = new ArchiveBlock(
+                offset,
+                block.length,
+                records.stream().mapToLong(record -> record.loggedAt().getTime()).min().orElse(0),
+                records.stream().mapToLong(record -> record.loggedAt().getTime()).max().orElse(0),
+                records.stream().map(ArchivedAuditLog::userId).collect(Collectors.toCollection(TreeSet::new)));
+        append(indexFile(directory, month), (objectMapper.writeValueAsString(entry) + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Append bytes to a file and force them to disk, returning the position they were written at
+    private long append(Path file, byte[] bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            long offset = channel.size();
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+            return offset;
+        }
+    }
+
+    private List<YearMonth> findArchivedMonths(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> INDEX_FILE_NAME.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> YearMonth.parse(matcher.group(1)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private List<ArchiveBlock> readIndex(Path indexFile) throws IOException {
+        List<ArchiveBlock> blocks = new ArrayList<>();
+        for (String line : Files.readAllLines(indexFile, StandardCharsets.UTF_8)) {
+            try {
+                blocks.add(objectMapper.readValue(line, ArchiveBlock.class));
+            }
+            catch (IOException exception){
+                // A partially written last entry; its block is archived again by the next run
+                log.warn("Skipping unreadable entry in {}", indexFile);
+            }
+        }
+        return blocks;
+    }
+
+    private List<ArchivedAuditLog> readBlock(Path dataFile, ArchiveBlock block) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(block.length());
+        try (FileChannel channel = FileChannel.open(dataFile, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, block.offset() + buffer.position()) < 0) {
+                    throw new EOFException("Audit archive block beyond the end of " + dataFile);
+                }
+            }
+        }
+        List<ArchivedAuditLog> auditLogs = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(buffer.array())), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                auditLogs.add(objectMapper.readValue(line, ArchivedAuditLog.class));
+            }
+        }
+        return auditLogs;
+    }
+
+    private boolean blockMatches(ArchiveBlock block, Long userId, Date from, Date to) {
+        return (userId == null || block.userIds().contains(userId))
+                && (from == null || block.toLoggedAt() >= from.getTime())
+                && (to == null || block.fromLoggedAt() < to.getTime());
+    }
+
+    private boolean auditLogMatches(ArchivedAuditLog auditLog, Long userId, Date from, Date to) {
+        return (userId == null || userId.equals(auditLog.userId()))
+                && (from == null || !auditLog.loggedAt().before(from))
+                && (to == null || auditLog.loggedAt().before(to));
+    }
+
+    private Path dataFile(Path directory, YearMonth month) {
+        return directory.resolve("audit-" + month + ".jsonl.gz");
+    }
+
+    private Path indexFile(Path directory, YearMonth month) {
+        return directory.resolve("audit-" + month + ".idx");
+    }
+}
@@ -78,22 +78,4 @@ public class AuditCommentService {
             throw new ServerSideGeneralException("Something went wrong!");
         }
     }
-
-    /**
-     * Creates a new audit comment.
-     *
-     * @param auditComment The audit comment to create.
-     * @return The created audit comment.
-     */
-    public AuditComment createAuditComment(AuditComment auditComment) {
-        try {
-            return auditCommentRepository.save(auditComment);
-        }
-        catch (DataAccessException exception){
-            throw new DatabaseAccessException("Error accessing the database");
-        }
-        catch (Exception exception){
-            throw new ServerSideGeneralException("Something went wrong!");
-        }
-    }
 }
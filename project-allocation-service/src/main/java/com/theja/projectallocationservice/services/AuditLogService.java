@@ -1,16 +1,24 @@
 package com.theja.projectallocationservice.services;
 
+import com.theja.projectallocationservice.dto.AuditLogCursor;
+import com.theja.projectallocationservice.dto.PublicUser;
+import com.theja.projectallocationservice.entities.AuditComment;
 import com.theja.projectallocationservice.entities.AuditLog;
 import com.theja.projectallocationservice.exceptions.DatabaseAccessException;
 import com.theja.projectallocationservice.exceptions.ResourceNotFoundException;
 import com.theja.projectallocationservice.exceptions.ServerSideGeneralException;
+import com.theja.projectallocationservice.repositories.AuditCommentRepository;
 import com.theja.projectallocationservice.repositories.AuditLogRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,19 +30,35 @@ public class AuditLogService {
     @Autowired
     private AuditLogRepository auditLogRepository;
 
+    @Autowired
+    private AuditCommentRepository auditCommentRepository;
+
+    @Autowired
+    private AuditWriter auditWriter;
+
     /**
-     * Retrieves a paginated list of all audit logs.
+     * Retrieves a page of audit logs matching the filters using offset paging, newest first.
      *
-     * @param pageSize   The maximum number of audit logs per page.
-     * @param pageNumber The page number to retrieve.
+     * @param userId       The ID of the user associated with the audit logs, or null for all users.
+     * @param actionPrefix The prefix of the audited action, or null for all actions.
+     * @param from         Start of the time range, inclusive, or null for no lower bound.
+     * @param to           End of the time range, exclusive, or null for no upper bound.
+     * @param pageSize     The maximum number of audit logs per page.
+     * @param pageNumber   The page number to retrieve.
+     * @param withComments Whether to load the comments of the audit logs as well.
      * @return A page containing a list of audit logs.
      */
-    public Page<AuditLog> getAllAuditLogs(Integer pageSize, Integer pageNumber) {
-        if (pageSize == null) pageSize = 1000;
+    @Transactional(readOnly = true)
+    public Page<AuditLog> getAllAuditLogs(Long userId, String actionPrefix, Date from, Date to, Integer pageSize, Integer pageNumber, boolean withComments) {
+        if (pageSize == null) pageSize = 100;
         if (pageNumber == null) pageNumber = 0;
         PageRequest pageRequest = PageRequest.of(pageNumber, pageSize);
         try {
-            return auditLogRepository.findAll(pageRequest);
+            Page<AuditLog> auditLogs = auditLogRepository.findFilteredPage(userId, escapeLikePrefix(actionPrefix), from, to, pageRequest);
+            if (withComments) {
+                loadAuditComments(auditLogs.getContent());
+            }
+            return auditLogs;
         }
         catch (DataAccessException exception){
             throw new DatabaseAccessException("Error accessing the database");
@@ -45,14 +69,29 @@ public class AuditLogService {
     }
 
     /**
-     * Retrieves all audit logs associated with a specific user.
+     * Retrieves the audit logs matching the filters that come after a cursor, newest first.
+     * Every page costs the same since the query seeks to the cursor instead of skipping the previous pages.
      *
-     * @param userId The ID of the user.
-     * @return List of audit logs associated with the user.
+     * @param userId       The ID of the user associated with the audit logs, or null for all users.
+     * @param actionPrefix The prefix of the audited action, or null for all actions.
+     * @param from         Start of the time range, inclusive, or null for no lower bound.
+     * @param to           End of the time range, exclusive, or null for no upper bound.
+     * @param cursor       The position of the last audit log already retrieved, or null for the first page.
+     * @param limit        The maximum number of audit logs to retrieve.
+     * @param withComments Whether to load the comments of the audit logs as well.
+     * @return List of audit logs following the cursor.
      */
-    public List<AuditLog> getAllAuditLogsForUser(Long userId) {
+    @Transactional(readOnly = true)
+    public List<AuditLog> getAuditLogsAfter(Long userId, String actionPrefix, Date from, Date to, AuditLogCursor cursor, int limit, boolean withComments) {
+        PageRequest pageRequest = PageRequest.of(0, limit);
         try {
-            return auditLogRepository.findByUserId(userId);
+            List<AuditLog> auditLogs = cursor == null
+                    ? auditLogRepository.findFiltered(userId, escapeLikePrefix(actionPrefix), from, to, pageRequest)
+                    : auditLogRepository.findFilteredAfter(userId, escapeLikePrefix(actionPrefix), from, to, cursor.loggedAt(), cursor.id(), pageRequest);
+            if (withComments) {
+                loadAuditComments(auditLogs);
+            }
+            return auditLogs;
         }
         catch (DataAccessException exception){
             throw new DatabaseAccessException("Error accessing the database");
@@ -86,14 +125,47 @@ public class AuditLogService {
     }
 
     /**
-     * Creates a new audit log.
+     * Creates a new audit log along with the comments attached to it. The log is written in the background,
+     * so its ID is only set once it has been flushed.
      *
      * @param auditLog The audit log to create.
-     * @return The created audit log.
+     * @return The audit log, which can be referenced by audit comments right away.
      */
     public AuditLog createAuditLog(AuditLog auditLog) {
+        auditWriter.submit(auditLog);
+        return auditLog;
+    }
+
+    /**
+     * Records a denied attempt to perform an action, as an audit log with a single comment.
+     *
+     * @param user    The user who was denied.
+     * @param action  The action the user attempted.
+     * @param comment The reason access was denied.
+     * @return The created audit log.
+     */
+    public AuditLog createUnauthorizedAccessAuditLog(PublicUser user, String action, String comment) {
+        AuditLog auditLog = AuditLog.builder()
+                .action(action)
+                .loggedAt(new Date())
+                .auditComments(new ArrayList<>())
+                .build();
+        auditLog.setUser(user);
+        // The comment is written together with the log
+        auditLog.getAuditComments().add(AuditComment.builder().comment(comment).auditLog(auditLog).build());
+        return createAuditLog(auditLog);
+    }
+
+    /**
+     * Deletes audit logs and their comments once they have been archived, in one transaction.
+     *
+     * @param ids The IDs of the archived audit logs.
+     */
+    @Transactional
+    public void deleteArchivedAuditLogs(Collection<Long> ids) {
         try {
-            return auditLogRepository.save(auditLog);
+            auditCommentRepository.deleteByAuditLogIdIn(ids);
+            auditLogRepository.deleteByIdIn(ids);
         }
         catch (DataAccessException exception){
             throw new DatabaseAccessException("Error accessing the database");
@@ -102,4 +174,43 @@ public class AuditLogService {
             throw new ServerSideGeneralException("Something went wrong!");
         }
     }
+
+    /**
+     * Fills the user snapshot of audit logs written before snapshots were captured, in one transaction.
+     *
+     * @param users The current details of the users.
+     * @return The number of updated audit logs.
+     */
+    @Transactional
+    public int fillUserSnapshots(Collection<PublicUser> users) {
+        try {
+            int updated = 0;
+            for (PublicUser user : users) {
+                updated += auditLogRepository.fillUserSnapshot(user.getId(), user.getName(), user.getEmail(), user.getRole());
+            }
+            return updated;
+        }
+        catch (DataAccessException exception){
+            throw new DatabaseAccessException("Error accessing the database");
+        }
+        catch (Exception exception){
+            throw new ServerSideGeneralException("Something went wrong!");
+        }
+    }
+
+    // Initialize the comments of a page of audit logs with one join instead of one query per audit log.
+    // Paging and the fetch join are separate queries so that the limit applies to audit logs, not to joined rows.
+    private void loadAuditComments(List<AuditLog> auditLogs) {
+        if (!auditLogs.isEmpty()) {
+            auditLogRepository.fetchAuditComments(auditLogs.stream().map(AuditLog::getId).toList());
+        }
+    }
+
+    // Escape LIKE wildcards in an action prefix, using '!' as escape character as declared by the repository filter
+    private String escapeLikePrefix(String actionPrefix) {
+        if (actionPrefix == null || actionPrefix.isEmpty()) {
+            return null;
+        }
+        return actionPrefix.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
 }
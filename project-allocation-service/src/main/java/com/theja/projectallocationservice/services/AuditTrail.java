@@ -0,0 +1,66 @@
+package com.theja.projectallocationservice.services;
+
+import com.theja.projectallocationservice.dto.RequestContext;
+import com.theja.projectallocationservice.entities.AuditComment;
+import com.theja.projectallocationservice.entities.AuditLog;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.ArrayList;
+import java.util.Date;
+
+/**
+ * Request-scoped audit trail of the action performed by the current request.
+ * Controllers start the trail and append steps to it in memory; when the request completes, whether it
+ * succeeded or failed, the log and all its comments are written together in one batch.
+ */
+@RequestScope
+@Component
+public class AuditTrail {
+
+    @Autowired
+    private AuditLogService auditLogService;
+
+    @Autowired
+    private RequestContext requestContext;
+
+    private AuditLog auditLog;  // The log of the current action, null until the trail has been started
+
+    /**
+     * Start the audit trail of an action performed by the logged-in user.
+     *
+     * @param action Describes the action being audited.
+     */
+    public void start(String action) {
+        auditLog = AuditLog.builder()
+                .action(action)
+                .loggedAt(new Date())
+                .auditComments(new ArrayList<>())
+                .build();
+        auditLog.setUser(requestContext.getLoggedinUser());
+    }
+
+    /**
+     * Append a step to the audit trail, ignored if the trail has not been started.
+     *
+     * @param comment Describes the step.
+     */
+    public void step(String comment) {
+        if (auditLog != null) {
+            auditLog.getAuditComments().add(AuditComment.builder().comment(comment).auditLog(auditLog).build());
+        }
+    }
+
+    /**
+     * Write the audit trail once the request has completed. Steps recorded before a failure are kept.
+     */
+    @PreDestroy
+    public void flush() {
+        if (auditLog != null) {
+            auditLogService.createAuditLog(auditLog);
+            auditLog = null;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.theja.projectallocationservice.services;
+
+import com.theja.projectallocationservice.dto.PublicUser;
+import com.theja.projectallocationservice.repositories.AuditLogRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Fills the user snapshot of audit logs written before snapshots were captured, once the service has started.
+ * Audit logs are only updated while their snapshot is empty, so the job does nothing once history has been filled in.
+ */
+@Slf4j
+@Component
+public class AuditUserBackfill {
+
+    private static final int USER_PAGE_SIZE = 500;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private AuditLogService auditLogService;
+
+    @Autowired
+    private UserServiceClient userServiceClient;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillUserSnapshots() {
+        long afterUserId = 0;
+        int updated = 0;
+        try {
+            List<Long> userIds;
+            do {
+                userIds = auditLogRepository.findUserIdsWithoutSnapshot(afterUserId, PageRequest.of(0, USER_PAGE_SIZE));
+                if (userIds.isEmpty()) {
+                    break;
+                }
+                // Users that no longer exist keep an empty snapshot and are resolved when read
+                List<PublicUser> users = userServiceClient.getUsersById(userIds).getUsers();
+                updated += auditLogService.fillUserSnapshots(users);
+                afterUserId = userIds.get(userIds.size() - 1);
+            } while (userIds.size() == USER_PAGE_SIZE);
+        }
+        catch (Exception exception){
+            // Audit logs without a snapshot are still served by looking up their user, and the next start continues
+            log.warn("Could not backfill audit log user snapshots: " + exception.getMessage());
+        }
+        if (updated > 0) {
+            log.info("Backfilled the user snapshot of {} audit logs", updated);
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.theja.projectallocationservice.services;
+
+import com.theja.projectallocationservice.entities.AuditComment;
+import com.theja.projectallocationservice.entities.AuditLog;
+import com.theja.projectallocationservice.exceptions.DatabaseAccessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service class that writes audit logs and their comments in the background, so that auditing does not add
+ * database round trips to requests. Logs are buffered in a bounded queue and flushed with JDBC batch inserts,
+ * each log in the same transaction as the comments attached to it. A batch that cannot be written is retried
+ * with backoff, then written log by log so that one bad log does not take the others with it.
+ */
+@Slf4j
+@Service
+public class AuditWriter {
+
+    private static final String INSERT_AUDIT_LOG = "INSERT INTO audit_logs (action, logged_at, userId, userName, userEmail, userRole) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_AUDIT_COMMENT = "INSERT INTO audit_comments (comment, audit_log_id) VALUES (?, ?)";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private BlockingQueue<AuditLog> queue;
+    private Thread flusher;
+    private volatile boolean running;
+    private Counter droppedLogs;
+
+    private Integer getQueueCapacity() {
+        return environment.getProperty("AUDIT_QUEUE_CAPACITY", Integer.class, 10_000);
+    }
+
+    private Integer getBatchSize() {
+        return environment.getProperty("AUDIT_BATCH_SIZE", Integer.class, 200);
+    }
+
+    private Long getFlushIntervalMillis() {
+        return environment.getProperty("AUDIT_FLUSH_INTERVAL_MILLIS", Long.class, 500L);
+    }
+
+    private Long getOfferTimeoutMillis() {
+        return environment.getProperty("AUDIT_OFFER_TIMEOUT_MILLIS", Long.class, 1000L);
+    }
+
+    private Integer getWriteAttempts() {
+        return environment.getProperty("AUDIT_WRITE_ATTEMPTS", Integer.class, 3);
+    }
+
+    private Long getRetryBackoffMillis() {
+        return environment.getProperty("AUDIT_RETRY_BACKOFF_MILLIS", Long.class, 200L);
+    }
+
+    private Long getShutdownTimeoutMillis() {
+        return environment.getProperty("AUDIT_SHUTDOWN_TIMEOUT_MILLIS", Long.class, 10_000L);
+    }
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(getQueueCapacity());
+        Gauge.builder("audit.queue.depth", queue, BlockingQueue::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+        droppedLogs = Counter.builder("audit.logs.dropped")
+                .description("Audit logs that could not be written and were given up on")
+                .register(meterRegistry);
+        running = true;
+        flusher = new Thread(this::run, "audit-writer");
+        flusher.start();
+    }
+
+    /**
+     * Stop accepting events and wait until everything already queued has been written.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        flusher.join(getShutdownTimeoutMillis());
+        if (flusher.isAlive()) {
+            log.error("Audit writer did not drain in time, {} audit events were not written", queue.size());
+        }
+    }
+
+    /**
+     * Queue an audit log to be written together with the comments already attached to it.
+     * Its id is assigned once it has been written.
+     *
+     * @param auditLog The audit log to write.
+     * @throws DatabaseAccessException If the queue stays full, which means the database cannot keep up.
+     */
+    public void submit(AuditLog auditLog) {
+        if (!running) {
+            throw new DatabaseAccessException("Error accessing the database");
+        }
+        try {
+            // Block the caller while the queue is full, so that a slow database slows down requests instead of losing events
+            if (!queue.offer(auditLog, getOfferTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                throw new DatabaseAccessException("Error accessing the database");
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseAccessException("Error accessing the database");
+        }
+    }
+
+    private void run() {
+        List<AuditLog> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                collectBatch(batch);
+            } catch (InterruptedException exception) {
+                // Keep going until the queue is drained; stop() ends the loop
+            }
+            if (!batch.isEmpty()) {
+                try {
+                    writeWithRetries(batch);
+                } catch (RuntimeException exception) {
+                    // Never let a failure end the only thread draining the queue
+                    droppedLogs.increment(batch.size());
+                    log.error("Dropped {} audit logs after an unexpected error", batch.size(), exception);
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    // Wait for the first event, then collect more until the batch is full or the flush interval has passed
+    private void collectBatch(List<AuditLog> batch) throws InterruptedException {
+        int batchSize = getBatchSize();
+        long flushIntervalMillis = getFlushIntervalMillis();
+        AuditLog first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.currentTimeMillis() + flushIntervalMillis;
+        while (batch.size() < batchSize && running) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.currentTimeMillis();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                break;
+            }
+            AuditLog next = queue.poll(remaining, TimeUnit.MILLISECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        queue.drainTo(batch, batchSize - batch.size());
+    }
+
+    // Write the batch, retrying with backoff, then fall back to writing each log on its own to isolate bad ones
+    private void writeWithRetries(List<AuditLog> auditLogs) {
+        int attempts = getWriteAttempts();
+        long backoffMillis = getRetryBackoffMillis();
+        for (int attempt = 1; attempt <= attempts; attempt++) {
+            try {
+                write(auditLogs);
+                return;
+            } catch (SQLException | RuntimeException exception) {
+                log.warn("Could not write {} audit logs (attempt {} of {}): {}", auditLogs.size(), attempt, attempts, exception.getMessage());
+            }
+            if (attempt < attempts && !sleep(backoffMillis << (attempt - 1))) {
+                break;
+            }
+        }
+        if (auditLogs.size() == 1) {
+            drop(auditLogs.get(0));
+            return;
+        }
+        for (AuditLog auditLog : auditLogs) {
+            try {
+                write(List.of(auditLog));
+            } catch (SQLException | RuntimeException exception) {
+                drop(auditLog);
+            }
+        }
+    }
+
+    private void drop(AuditLog auditLog) {
+        auditLog.setId(null);
+        droppedLogs.increment();
+        log.error("Dropped audit log '{}' of user {}", auditLog.getAction(), auditLog.getUserId());
+    }
+
+    // Sleep between attempts; returns false if interrupted, so a stopping writer does not keep backing off
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void write(List<AuditLog> auditLogs) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                insertAuditLogs(connection, auditLogs);
+                insertAuditComments(connection, auditLogs);
+                connection.commit();
+            } catch (SQLException | RuntimeException exception) {
+                connection.rollback();
+                // Ids assigned by the rolled back inserts do not exist
+                auditLogs.forEach(auditLog -> auditLog.setId(null));
+                throw exception;
+            }
+        }
+    }
+
+    private void insertAuditLogs(Connection connection, List<AuditLog> auditLogs) throws SQLException {
+        if (auditLogs.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_AUDIT_LOG, Statement.RETURN_GENERATED_KEYS)) {
+            for (AuditLog auditLog : auditLogs) {
+                statement.setString(1, auditLog.getAction());
+                statement.setTimestamp(2, auditLog.getLoggedAt() == null ? null : new Timestamp(auditLog.getLoggedAt().getTime()));
+                statement.setObject(3, auditLog.getUserId(), Types.BIGINT);
+                statement.setString(4, auditLog.getUserName());
+                statement.setString(5, auditLog.getUserEmail());
+                statement.setString(6, auditLog.getUserRole());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            // Generated keys come back in insert order; comments of these logs are written with them below
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                for (AuditLog auditLog : auditLogs) {
+                    if (!keys.next()) {
+                        break;
+                    }
+                    auditLog.setId(keys.getLong(1));
+                }
+            }
+        }
+    }
+
+    private void insertAuditComments(Connection connection, List<AuditLog> auditLogs) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_AUDIT_COMMENT)) {
+            boolean any = false;
+            for (AuditLog auditLog : auditLogs) {
+                if (auditLog.getAuditComments() == null) {
+                    continue;
+                }
+                if (auditLog.getId() == null) {
+                    throw new SQLException("No id was generated for audit log '" + auditLog.getAction() + "'");
+                }
+                for (AuditComment auditComment : auditLog.getAuditComments()) {
+                    statement.setString(1, auditComment.getComment());
+                    statement.setLong(2, auditLog.getId());
+                    statement.addBatch();
+                    any = true;
+                }
+            }
+            if (any) {
+                statement.executeBatch();
+            }
+        }
+    }
+}
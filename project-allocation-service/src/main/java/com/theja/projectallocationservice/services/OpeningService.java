@@ -2,6 +2,8 @@ package com.theja.projectallocationservice.services;
 
 import com.theja.projectallocationservice.dto.EmailMessage;
 import com.theja.projectallocationservice.dto.OpeningSearchMessage;
+import com.theja.projectallocationservice.dto.OpeningSkillSummary;
+import com.theja.projectallocationservice.dto.OpeningSummary;
 import com.theja.projectallocationservice.dto.PublicUser;
 import com.theja.projectallocationservice.entities.Opening;
 import com.theja.projectallocationservice.dto.RequestContext;
@@ -16,6 +18,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -41,14 +44,35 @@ public class OpeningService {
      * @param pageNumber    The page number.
      * @param appliedBySelf True if the openings are applied by the logged-in user, false otherwise.
      * @param postedBySelf  True if the openings are posted by the logged-in user, false otherwise.
-     * @return A page of openings.
+     * @return A page of read-only opening summaries.
      */
-    public Page<Opening> getAllOpenings(Integer pageSize, Integer pageNumber, Boolean appliedBySelf, Boolean postedBySelf) {
+    public Page<OpeningSummary> getAllOpenings(Integer pageSize, Integer pageNumber, Boolean appliedBySelf, Boolean postedBySelf) {
         if (pageSize == null) pageSize = 1000;
         if (pageNumber == null) pageNumber = 0;
         PageRequest pageRequest = PageRequest.of(pageNumber, pageSize);
         try {
-            return openingRepository.fetchOpenings(appliedBySelf, postedBySelf, pageRequest, requestContext.getLoggedinUser().getId());
+            return openingRepository.fetchOpeningSummaries(appliedBySelf, postedBySelf, pageRequest, requestContext.getLoggedinUser().getId());
+        }
+        catch (DataAccessException exception){
+            throw new DatabaseAccessException("Error accessing the database");
+        }
+        catch (Exception exception){
+            throw new ServerSideGeneralException("Something went wrong!");
+        }
+    }
+
+    /**
+     * Retrieves the skills required by the given openings.
+     *
+     * @param openingIds The IDs of the openings.
+     * @return The skills of the openings as read-only summaries.
+     */
+    public List<OpeningSkillSummary> getSkillsForOpenings(Collection<Long> openingIds) {
+        if (openingIds.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return openingRepository.findSkillSummaries(openingIds);
         }
         catch (DataAccessException exception){
             throw new DatabaseAccessException("Error accessing the database");
@@ -2,6 +2,7 @@ package com.theja.projectallocationservice.services;
 
 import com.theja.projectallocationservice.dto.CreateProjectDTO;
 import com.theja.projectallocationservice.dto.EmailMessage;
+import com.theja.projectallocationservice.dto.ProjectSummary;
 import com.theja.projectallocationservice.dto.PublicUser;
 import com.theja.projectallocationservice.entities.Project;
 import com.theja.projectallocationservice.entities.enums.EmailTriggerActions;
@@ -45,14 +46,14 @@ public class ProjectService {
      *
      * @param pageSize   The number of projects per page.
      * @param pageNumber The page number.
-     * @return A page of projects.
+     * @return A page of read-only project summaries.
      */
-    public Page<Project> getAllProjects(Integer pageSize, Integer pageNumber) {
+    public Page<ProjectSummary> getAllProjects(Integer pageSize, Integer pageNumber) {
         if (pageSize == null) pageSize = 1000;
         if (pageNumber == null) pageNumber = 0;
         PageRequest pageRequest = PageRequest.of(pageNumber, pageSize);
         try {
-            return projectRepository.findAll(pageRequest);
+            return projectRepository.findAllSummaries(pageRequest);
         }
         catch (DataAccessException exception){
             throw new DatabaseAccessException("Error accessing the database");
@@ -0,0 +1,183 @@
+package com.theja.projectallocationservice.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.theja.projectallocationservice.dto.PublicUser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Service class holding a bounded, expiring cache of the public users resolved from user-service.
+ * Entries are evicted as soon as user-service reports a change of the user; the TTL bounds staleness if an event is lost.
+ */
+@Service
+public class PublicUserCacheService {
+
+    // Request attribute set for requests that must read users from user-service, see BypassUserCache
+    public static final String BYPASS_ATTRIBUTE = PublicUserCacheService.class.getName() + ".BYPASS";
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<Long, PublicUser> userCache;
+
+    // Last version of every user seen, kept past expiry and eviction to degrade to while user-service is unavailable
+    private Cache<Long, PublicUser> lastKnownUsers;
+
+    private Timer stalenessTimer;
+
+    private Counter lastKnownFallbacks;
+
+    private Counter placeholderFallbacks;
+
+    private Long getCacheMaxSize() {
+        return environment.getProperty("USER_CACHE_MAX_SIZE", Long.class, 10_000L);
+    }
+
+    private Long getCacheTtlSeconds() {
+        return environment.getProperty("USER_CACHE_TTL_SECONDS", Long.class, 300L);
+    }
+
+    private Long getLastKnownMaxSize() {
+        return environment.getProperty("USER_CACHE_LAST_KNOWN_MAX_SIZE", Long.class, 50_000L);
+    }
+
+    private Long getLastKnownTtlSeconds() {
+        return environment.getProperty("USER_CACHE_LAST_KNOWN_TTL_SECONDS", Long.class, 86_400L);
+    }
+
+    @PostConstruct
+    public void init() {
+        userCache = Caffeine.newBuilder()
+                .maximumSize(getCacheMaxSize())
+                .expireAfterWrite(Duration.ofSeconds(getCacheTtlSeconds()))
+                .recordStats()
+                .build();
+        // Publishes cache.gets (hit/miss), cache.evictions and cache.size tagged with cache=public-users.
+        CaffeineCacheMetrics.monitor(meterRegistry, userCache, "public-users");
+        lastKnownUsers = Caffeine.newBuilder()
+                .maximumSize(getLastKnownMaxSize())
+                .expireAfterWrite(Duration.ofSeconds(getLastKnownTtlSeconds()))
+                .build();
+        lastKnownFallbacks = Counter.builder("user.cache.fallback").tag("source", "last-known")
+                .description("Users served from their last known version while user-service was unavailable")
+                .register(meterRegistry);
+        placeholderFallbacks = Counter.builder("user.cache.fallback").tag("source", "placeholder")
+                .description("Users served as an id-only placeholder while user-service was unavailable")
+                .register(meterRegistry);
+        stalenessTimer = Timer.builder("user.cache.staleness")
+                .description("Time a cached user stayed stale between the change in user-service and its eviction")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get a user, loading it on a miss or when the current request bypasses the cache.
+     *
+     * @param userId The id of the user.
+     * @param loader Loads the user from user-service.
+     * @return The cached or freshly loaded user.
+     */
+    public PublicUser get(Long userId, Function<Long, PublicUser> loader) {
+        if (isBypassed()) {
+            PublicUser user = loader.apply(userId);
+            if (user != null) {
+                put(user);
+            }
+            return user;
+        }
+        return userCache.get(userId, id -> remember(loader.apply(id)));
+    }
+
+    /**
+     * Get the cached users among the given ids. Nothing is served from the cache when the current request bypasses it.
+     *
+     * @param userIds The ids of the users.
+     * @return The cached users by id.
+     */
+    public Map<Long, PublicUser> getAllPresent(Collection<Long> userIds) {
+        if (isBypassed()) {
+            return Map.of();
+        }
+        return userCache.getAllPresent(userIds);
+    }
+
+    /**
+     * Cache users freshly loaded from user-service.
+     *
+     * @param users The loaded users.
+     */
+    public void putAll(Collection<PublicUser> users) {
+        users.forEach(this::put);
+    }
+
+    /**
+     * Get the last known version of a user while user-service is unavailable, even if it has expired from the cache
+     * or was evicted since. Falls back to a placeholder carrying only the id if the user has never been seen.
+     *
+     * @param userId The id of the user.
+     * @return The last known user or a placeholder.
+     */
+    public PublicUser getLastKnown(Long userId) {
+        PublicUser user = lastKnownUsers.getIfPresent(userId);
+        if (user != null) {
+            lastKnownFallbacks.increment();
+            return user;
+        }
+        placeholderFallbacks.increment();
+        return new PublicUser(userId, null, null, null, List.of());
+    }
+
+    /**
+     * Drop the cached user after user-service reported a change.
+     *
+     * @param userId     Id of the user that changed.
+     * @param occurredAt Time of the change in epoch milliseconds, if known.
+     */
+    public void evictUser(Long userId, Long occurredAt) {
+        if (userId == null) {
+            return;
+        }
+        if (userCache.asMap().remove(userId) != null && occurredAt != null) {
+            stalenessTimer.record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - occurredAt)));
+        }
+    }
+
+    private void put(PublicUser user) {
+        userCache.put(user.getId(), user);
+        lastKnownUsers.put(user.getId(), user);
+    }
+
+    private PublicUser remember(PublicUser user) {
+        if (user != null) {
+            lastKnownUsers.put(user.getId(), user);
+        }
+        return user;
+    }
+
+    /**
+     * Check whether the current request has to read users from user-service, see BypassUserCache.
+     *
+     * @return True if the cache is bypassed, false otherwise or outside of a request.
+     */
+    public boolean isBypassed() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null && Boolean.TRUE.equals(attributes.getAttribute(BYPASS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+}
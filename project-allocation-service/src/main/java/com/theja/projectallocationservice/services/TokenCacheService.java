@@ -0,0 +1,115 @@
+package com.theja.projectallocationservice.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.theja.projectallocationservice.dto.UserSession;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Service class holding a bounded, expiring cache of what user-service resolved for each bearer token.
+ * Entries are keyed by the token digest so raw tokens are never kept in memory.
+ */
+@Service
+public class TokenCacheService {
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<String, UserSession> sessionCache;
+
+    private Long getCacheMaxSize() {
+        return environment.getProperty("TOKEN_CACHE_MAX_SIZE", Long.class, 10_000L);
+    }
+
+    private Long getCacheTtlSeconds() {
+        return environment.getProperty("TOKEN_CACHE_TTL_SECONDS", Long.class, 60L);
+    }
+
+    @PostConstruct
+    public void init() {
+        final long ttl = Duration.ofSeconds(getCacheTtlSeconds()).toNanos();
+        sessionCache = Caffeine.newBuilder()
+                .maximumSize(getCacheMaxSize())
+                .expireAfter(new Expiry<String, UserSession>() {
+                    // Entries live for the configured TTL, but never past the expiry of the token itself.
+                    @Override
+                    public long expireAfterCreate(String key, UserSession session, long currentTime) {
+                        if (session.getExpiresAt() == null) {
+                            return ttl;
+                        }
+                        long untilExpiry = Duration.ofMillis(session.getExpiresAt().getTime() - System.currentTimeMillis()).toNanos();
+                        return Math.max(0, Math.min(ttl, untilExpiry));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, UserSession session, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, session, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, UserSession session, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        // Publishes cache.gets (hit/miss), cache.evictions and cache.size tagged with cache=token-sessions.
+        CaffeineCacheMetrics.monitor(meterRegistry, sessionCache, "token-sessions");
+    }
+
+    /**
+     * Get the session for the given authorization header, loading it on a miss.
+     *
+     * @param authHeader The authorization header carrying the bearer token.
+     * @param loader     Loads the session from user-service on a miss.
+     * @return The cached or freshly loaded session.
+     */
+    public UserSession get(String authHeader, Supplier<UserSession> loader) {
+        return sessionCache.get(TokenRevocationService.digest(stripBearer(authHeader)), digest -> loader.get());
+    }
+
+    /**
+     * Drop the session of a revoked token.
+     *
+     * @param tokenDigest SHA-256 hex digest of the token.
+     */
+    public void evictToken(String tokenDigest) {
+        if (tokenDigest != null) {
+            sessionCache.invalidate(tokenDigest);
+        }
+    }
+
+    /**
+     * Drop every session belonging to the given user.
+     *
+     * @param userId Id of the user whose data changed.
+     */
+    public void evictUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        List<String> digests = sessionCache.asMap().entrySet().stream()
+                .filter(entry -> entry.getValue().getUser() != null && userId.equals(entry.getValue().getUser().getId()))
+                .map(Map.Entry::getKey)
+                .toList();
+        sessionCache.invalidateAll(digests);
+    }
+
+    private static String stripBearer(String authHeader) {
+        return authHeader.startsWith("Bearer ") ? authHeader.substring(7) : authHeader;
+    }
+}
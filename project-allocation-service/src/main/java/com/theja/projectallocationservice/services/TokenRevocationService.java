@@ -0,0 +1,136 @@
+package com.theja.projectallocationservice.services;
+
+import com.theja.projectallocationservice.dto.RevokedToken;
+import com.theja.projectallocationservice.dto.TokenRevocationResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service class that keeps an in-memory copy of the tokens revoked in user-service.
+ * The copy is refreshed in the background from the revocation feed, so checking a token never leaves the process.
+ * Role changes are only known from user events received since startup, so the claims of tokens issued before
+ * startup are never trusted; those tokens are checked with user-service until they expire.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    @Autowired
+    private UserServiceClient userServiceClient;
+
+    @Autowired
+    private Environment environment;
+
+    // Tokens issued before this instance started may belong to users whose role changed while it was down.
+    private final long startedAt = System.currentTimeMillis();
+
+    // Digest of each revoked token mapped to the time the token expires on its own.
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private volatile long lastId = 0L;
+
+    // Id of each user whose role changed mapped to the time of the change; claims in older tokens are stale.
+    // Changes older than the maximum token lifetime are pruned, since every token issued before them has expired.
+    private final Map<Long, Long> userChanges = new ConcurrentHashMap<>();
+
+    private Long getTokenMaxLifetimeMillis() {
+        return environment.getProperty("TOKEN_MAX_LIFETIME_MILLIS", Long.class, 86_400_000L);
+    }
+
+    /**
+     * Check whether the token has been revoked.
+     *
+     * @param token The raw JWT token.
+     * @return True if the token was revoked.
+     */
+    public boolean isRevoked(String token) {
+        return revokedTokens.containsKey(digest(token));
+    }
+
+    /**
+     * Record a token revoked through a user event, ahead of the next poll of the revocation feed.
+     *
+     * @param tokenDigest SHA-256 hex digest of the token.
+     * @param expiresAt   Expiry of the token in epoch milliseconds.
+     */
+    public void revoke(String tokenDigest, Long expiresAt) {
+        if (tokenDigest != null && expiresAt != null) {
+            revokedTokens.put(tokenDigest, expiresAt);
+        }
+    }
+
+    /**
+     * Record that the role of a user changed, so that the claims of tokens issued before are no longer trusted.
+     *
+     * @param userId     Id of the user.
+     * @param occurredAt Time of the change in epoch milliseconds.
+     */
+    public void markUserChanged(Long userId, Long occurredAt) {
+        if (userId != null && occurredAt != null) {
+            userChanges.merge(userId, occurredAt, Math::max);
+        }
+    }
+
+    /**
+     * Check whether the user changed after the token was issued, making the claims in the token stale.
+     *
+     * @param userId   Id of the user the token belongs to.
+     * @param issuedAt Time the token was issued.
+     * @return True if the claims can no longer be trusted.
+     */
+    public boolean isStale(Long userId, Date issuedAt) {
+        if (issuedAt == null || issuedAt.getTime() < startedAt) {
+            return true;
+        }
+        Long changedAt = userChanges.get(userId);
+        return changedAt != null && issuedAt.getTime() <= changedAt;
+    }
+
+    /**
+     * Poll the revocation feed for tokens revoked since the last poll, forget tokens that have expired and
+     * role changes that no unexpired token can predate.
+     */
+    @Scheduled(fixedDelayString = "${TOKEN_REVOCATION_POLL_INTERVAL:5000}")
+    public void refresh() {
+        try {
+            long previousId;
+            do {
+                // Keep reading pages until the feed stops advancing.
+                previousId = lastId;
+                TokenRevocationResponse response = userServiceClient.getRevokedTokens(previousId);
+                for (RevokedToken token : response.getTokens()) {
+                    revokedTokens.put(token.getDigest(), token.getExpiresAt().getTime());
+                }
+                lastId = response.getLastId();
+            } while (lastId != previousId);
+        } catch (Exception exception) {
+            log.warn("Could not refresh revoked tokens from user-service: {}", exception.getMessage());
+        }
+        long now = System.currentTimeMillis();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt < now);
+        long oldestValidIssue = now - getTokenMaxLifetimeMillis();
+        userChanges.values().removeIf(changedAt -> changedAt < oldestValidIssue);
+    }
+
+    /**
+     * Compute the SHA-256 hex digest of a token, matching the digests published by user-service.
+     */
+    public static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.theja.projectallocationservice.services;
+
+import com.theja.projectallocationservice.dto.JsonWebKey;
+import com.theja.projectallocationservice.dto.JsonWebKeySet;
+import com.theja.projectallocationservice.dto.PublicUser;
+import com.theja.projectallocationservice.entities.enums.PermissionName;
+import io.jsonwebtoken.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigInteger;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.*;
+
+/**
+ * Service class responsible for verifying tokens issued by user-service in-process,
+ * using the public keys user-service publishes.
+ */
+@Slf4j
+@Service
+public class TokenVerificationService {
+
+    // Minimum time between two attempts to fetch the key set, so an unknown key id cannot flood user-service.
+    private static final long KEY_RELOAD_INTERVAL_MS = 30_000;
+
+    @Autowired
+    private UserServiceClient userServiceClient;
+
+    private volatile Map<String, PublicKey> signingKeys = Map.of();
+    private volatile long lastKeyLoadAttempt;
+
+    private final JwtParser jwtParser = Jwts.parserBuilder()
+            .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                @Override
+                public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                    return resolveKey(header.getKeyId());
+                }
+            })
+            .build();
+
+    /**
+     * Load the key set as soon as the application is up so the first requests are verified locally.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        loadKeys();
+    }
+
+    /**
+     * Verify the token signature and expiry.
+     *
+     * @param token The raw JWT token.
+     * @return The verified claims, or null if no signing key is available yet and the token cannot be verified locally.
+     * @throws JwtException If the token is invalid or expired.
+     */
+    public Claims verify(String token) {
+        if (signingKeys.isEmpty()) {
+            loadKeys();
+            if (signingKeys.isEmpty()) {
+                return null;
+            }
+        }
+        return jwtParser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Check whether the claims carry the identity and permissions of the user.
+     */
+    public boolean hasIdentityClaims(Claims claims) {
+        return claims.get("userId") != null && claims.get("permissions") != null;
+    }
+
+    /**
+     * Build the public user from the verified claims.
+     */
+    public PublicUser getUser(Claims claims) {
+        PublicUser user = new PublicUser();
+        user.setId(claims.get("userId", Long.class));
+        user.setName(claims.get("name", String.class));
+        user.setEmail(claims.get("email", String.class));
+        user.setRole(claims.get("role", String.class));
+        return user;
+    }
+
+    /**
+     * Read the permissions from the verified claims, ignoring any this service does not know about.
+     */
+    public List<PermissionName> getPermissions(Claims claims) {
+        List<PermissionName> permissions = new ArrayList<>();
+        for (Object permission : claims.get("permissions", List.class)) {
+            try {
+                permissions.add(PermissionName.valueOf(permission.toString()));
+            } catch (IllegalArgumentException exception) {
+                log.warn("Ignoring unknown permission {}", permission);
+            }
+        }
+        return permissions;
+    }
+
+    private Key resolveKey(String keyId) {
+        PublicKey key = findKey(keyId);
+        if (key == null) {
+            // The key may have been rotated since the key set was last fetched.
+            loadKeys();
+            key = findKey(keyId);
+        }
+        if (key == null) {
+            throw new JwtException("Unknown signing key: " + keyId);
+        }
+        return key;
+    }
+
+    private PublicKey findKey(String keyId) {
+        Map<String, PublicKey> keys = signingKeys;
+        if (keyId == null && keys.size() == 1) {
+            return keys.values().iterator().next();
+        }
+        return keyId == null ? null : keys.get(keyId);
+    }
+
+    private synchronized void loadKeys() {
+        long now = System.currentTimeMillis();
+        if (now - lastKeyLoadAttempt < KEY_RELOAD_INTERVAL_MS) {
+            return;
+        }
+        lastKeyLoadAttempt = now;
+        try {
+            JsonWebKeySet keySet = userServiceClient.getSigningKeys();
+            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+            Map<String, PublicKey> keys = new HashMap<>();
+            for (JsonWebKey key : keySet.getKeys()) {
+                if (!"RSA".equals(key.getKty())) {
+                    continue;
+                }
+                BigInteger modulus = new BigInteger(1, Base64.getUrlDecoder().decode(key.getN()));
+                BigInteger exponent = new BigInteger(1, Base64.getUrlDecoder().decode(key.getE()));
+                keys.put(key.getKid(), keyFactory.generatePublic(new RSAPublicKeySpec(modulus, exponent)));
+            }
+            signingKeys = Collections.unmodifiableMap(keys);
+            log.info("Loaded {} token signing key(s) from user-service", keys.size());
+        } catch (Exception exception) {
+            log.warn("Could not load token signing keys from user-service: {}", exception.getMessage());
+        }
+    }
+}
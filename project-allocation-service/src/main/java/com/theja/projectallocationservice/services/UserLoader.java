@@ -0,0 +1,111 @@
+package com.theja.projectallocationservice.services;
+
+import com.theja.projectallocationservice.dto.PublicUser;
+import com.theja.projectallocationservice.dto.PublicUserBatchResponse;
+import com.theja.projectallocationservice.exceptions.ServiceClientException;
+import com.theja.projectallocationservice.exceptions.ServiceUnavailableException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Request-scoped loader for the users referenced by a response.
+ * Mappers register the user ids of the whole entity tree first; the first lookup then resolves every
+ * registered id in one deduplicated batch call, and results are kept for the rest of the request.
+ * List mappers may prefetch the registered ids, so that the lookup runs while the rest of the tree is mapped.
+ * While user-service is unavailable, users degrade to their last known version or an id-only placeholder.
+ */
+@RequestScope
+@Component
+public class UserLoader {
+
+    @Autowired
+    private UserServiceClient userServiceClient;
+
+    @Autowired
+    private PublicUserCacheService publicUserCacheService;
+
+    // Lookup started by prefetch, with the ids it resolves
+    private record PendingLookup(List<Long> userIds, CompletableFuture<PublicUserBatchResponse> response) {
+    }
+
+    private final Set<Long> pendingIds = new LinkedHashSet<>();   // Registered ids not resolved yet
+    private final Map<Long, PublicUser> users = new HashMap<>();  // Resolved users, null for ids that do not exist
+    private final List<PendingLookup> lookups = new ArrayList<>(); // Prefetched lookups not collected yet
+
+    /**
+     * Register a user id to be resolved with the next batch.
+     *
+     * @param userId The id of the user, ignored if null or already resolved.
+     */
+    public void register(Long userId) {
+        if (userId != null && !users.containsKey(userId)) {
+            pendingIds.add(userId);
+        }
+    }
+
+    /**
+     * Get a user, resolving all registered ids first if the user has not been resolved yet.
+     *
+     * @param userId The id of the user.
+     * @return The user, or null if no user exists with the given id.
+     */
+    public PublicUser get(Long userId) {
+        if (userId == null) {
+            return null;
+        }
+        if (!users.containsKey(userId)) {
+            pendingIds.add(userId);
+            load();
+        }
+        return users.get(userId);
+    }
+
+    /**
+     * Start resolving all registered ids in one batch lookup without waiting for it. Ids that are being
+     * prefetched already are not looked up again.
+     */
+    public void prefetch() {
+        lookups.forEach(lookup -> lookup.userIds().forEach(pendingIds::remove));
+        if (pendingIds.isEmpty()) {
+            return;
+        }
+        List<Long> userIds = new ArrayList<>(pendingIds);
+        pendingIds.clear();
+        lookups.add(new PendingLookup(userIds, userServiceClient.getUsersByIdAsync(userIds)));
+    }
+
+    /**
+     * Resolve all registered ids in one batch lookup and wait for every prefetched lookup.
+     */
+    public void load() {
+        prefetch();
+        for (PendingLookup lookup : lookups) {
+            collect(lookup);
+        }
+        lookups.clear();
+    }
+
+    private void collect(PendingLookup lookup) {
+        try {
+            for (PublicUser user : lookup.response().join().getUsers()) {
+                users.put(user.getId(), user);
+            }
+            // Remember ids that were not found too, so they are not looked up again
+            lookup.userIds().forEach(userId -> users.putIfAbsent(userId, null));
+        }
+        catch (CompletionException exception) {
+            if (exception.getCause() instanceof ServiceUnavailableException) {
+                lookup.userIds().forEach(userId -> users.put(userId, publicUserCacheService.getLastKnown(userId)));
+            } else if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            } else {
+                throw new ServiceClientException("An error occurred: " + exception.getMessage());
+            }
+        }
+    }
+}
@@ -1,12 +1,25 @@
 package com.theja.projectallocationservice.services;
 
-import com.theja.projectallocationservice.dto.PublicUserListResponse;
+import com.theja.projectallocationservice.dto.JsonWebKeySet;
+import com.theja.projectallocationservice.dto.PublicUserBatchResponse;
+import com.theja.projectallocationservice.dto.TokenRevocationResponse;
+import com.theja.projectallocationservice.dto.UserSession;
 import com.theja.projectallocationservice.entities.enums.PermissionName;
 import com.theja.projectallocationservice.dto.PublicUser;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface UserServiceClient {
+    /**
+     * Get the user, role, permissions and token expiry of a session in a single call.
+     *
+     * @param authHeader The authentication header containing user credentials.
+     * @return The introspected session.
+     */
+    UserSession introspect(String authHeader);
+
     /**
      * Get the list of permissions associated with a user.
      *
@@ -35,9 +48,41 @@ public interface UserServiceClient {
      * Get list of public user information based on the user ids.
      *
      * @param userIds The user ids of the users.
-     * @return List of Public user information.
+     * @return The public user information of the users found, and the ids that were not found.
+     */
+    PublicUserBatchResponse getUsersById(Collection<Long> userIds);
+
+    /**
+     * Get public user information based on the user id without blocking the calling thread.
+     *
+     * @param userId The user id of the user.
+     * @return Completes with the public user information, or with null if no user exists with the given id.
      */
-    PublicUserListResponse getUsersById(List<Long> userIds);
+    CompletableFuture<PublicUser> getUserByIdAsync(Long userId);
+
+    /**
+     * Get list of public user information based on the user ids without blocking the calling thread.
+     * Lookups that need several batches are issued in parallel.
+     *
+     * @param userIds The user ids of the users.
+     * @return Completes with the public user information of the users found, and the ids that were not found.
+     */
+    CompletableFuture<PublicUserBatchResponse> getUsersByIdAsync(Collection<Long> userIds);
 
     void updateUserProjectAllocation(Long userId, Long projectId);
+
+    /**
+     * Get the public keys used by user-service to sign tokens.
+     *
+     * @return The published key set.
+     */
+    JsonWebKeySet getSigningKeys();
+
+    /**
+     * Get the tokens revoked after the given position.
+     *
+     * @param afterId Position of the last revoked token already known.
+     * @return The next page of revoked tokens.
+     */
+    TokenRevocationResponse getRevokedTokens(Long afterId);
 }
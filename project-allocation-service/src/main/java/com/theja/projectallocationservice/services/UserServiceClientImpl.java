@@ -1,10 +1,25 @@
 package com.theja.projectallocationservice.services;
 
-import com.theja.projectallocationservice.dto.PublicUserListResponse;
+import com.theja.projectallocationservice.config.UserServiceResilienceConfig;
+import com.theja.projectallocationservice.dto.JsonWebKeySet;
+import com.theja.projectallocationservice.dto.PublicUserBatchResponse;
+import com.theja.projectallocationservice.dto.TokenRevocationResponse;
+import com.theja.projectallocationservice.dto.UserSession;
 import com.theja.projectallocationservice.entities.enums.PermissionName;
 import com.theja.projectallocationservice.dto.PublicUser;
 import com.theja.projectallocationservice.exceptions.ResourceNotFoundException;
 import com.theja.projectallocationservice.exceptions.ServiceClientException;
+import com.theja.projectallocationservice.exceptions.ServiceUnavailableException;
+import com.theja.projectallocationservice.utils.InFlightRequests;
+import com.theja.projectallocationservice.utils.RetryBudget;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.env.Environment;
 import org.springframework.http.*;
@@ -12,7 +27,16 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
 
 @Component
 public class UserServiceClientImpl implements UserServiceClient {
@@ -20,10 +44,67 @@ public class UserServiceClientImpl implements UserServiceClient {
     @Autowired
     private Environment environment;
 
+    @Autowired
+    private TokenCacheService tokenCacheService;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private PublicUserCacheService publicUserCacheService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CircuitBreakerRegistry userServiceCircuitBreakerRegistry;
+
+    @Autowired
+    private Bulkhead userServiceBulkhead;
+
+    @Autowired
+    private Retry userServiceRetry;
+
+    @Autowired
+    private RetryBudget userServiceRetryBudget;
+
+    @Autowired
+    private ExecutorService serviceClientExecutor;
+
+    // Lookups of users by id currently in flight, shared by concurrent requests for the same user
+    private InFlightRequests<Long, PublicUser> userLookups;
+
     private String getUserServiceHost(){
         return environment.getProperty("USER_SERVICE");
     }
 
+    private Integer getUserBatchSize(){
+        return environment.getProperty("USER_BATCH_SIZE", Integer.class, 500);
+    }
+
+    private Boolean isBinaryProtocolEnabled(){
+        return environment.getProperty("USER_SERVICE_BINARY_PROTOCOL", Boolean.class, true);
+    }
+
+    // Headers of the user lookups, which prefer CBOR and accept JSON from a user-service that cannot encode CBOR
+    private HttpHeaders userLookupHeaders(boolean withBody) {
+        HttpHeaders headers = new HttpHeaders();
+        if (isBinaryProtocolEnabled()) {
+            headers.setAccept(MediaType.parseMediaTypes("application/cbor, application/json;q=0.9"));
+            if (withBody) {
+                headers.setContentType(MediaType.APPLICATION_CBOR);
+            }
+        } else if (withBody) {
+            headers.setContentType(MediaType.APPLICATION_JSON);
+        }
+        return headers;
+    }
+
+    @PostConstruct
+    public void init() {
+        userLookups = new InFlightRequests<>("user-lookups", meterRegistry);
+    }
+
     /**
      * Get the list of permissions associated with a user.
      *
@@ -32,29 +113,7 @@ public class UserServiceClientImpl implements UserServiceClient {
      */
     @Override
     public List<PermissionName> getPermissions(String authHeader) {
-        String url = String.format("%sapi/v1/authorization/permissions", getUserServiceHost());
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", authHeader);
-        HttpEntity<?> entity = new HttpEntity<>(headers);
-
-        try {
-            ResponseEntity<Object> permissions = new RestTemplate().exchange(
-                    url,
-                    HttpMethod.GET,
-                    entity,
-                    Object.class
-            );
-
-            List<PermissionName> permissionNames = (List<PermissionName>) permissions.getBody();
-            return permissionNames;
-        }
-        catch (HttpClientErrorException ex) {
-            // Handle specific HTTP client errors (4xx)
-            throw new ServiceClientException("Error communicating with the service:  " + ex.getStatusText());
-        }catch (Exception ex) {
-            // Handle other exceptions
-            throw new ServiceClientException("An error occurred: " + ex.getMessage());
-        }
+        return introspect(authHeader).getPermissions();
     }
 
     /**
@@ -65,19 +124,37 @@ public class UserServiceClientImpl implements UserServiceClient {
      */
     @Override
     public PublicUser getUser(String authHeader) {
-        String url = String.format("%sapi/v1/authorization/user", getUserServiceHost());
+        return introspect(authHeader).getUser();
+    }
+
+    /**
+     * Get the user, role, permissions and token expiry of a session in a single call.
+     *
+     * @param authHeader The authentication header containing user credentials.
+     * @return The introspected session.
+     */
+    @Override
+    public UserSession introspect(String authHeader) {
+        return tokenCacheService.get(authHeader, () -> fetchIntrospection(authHeader));
+    }
+
+    private UserSession fetchIntrospection(String authHeader) {
+        String url = String.format("%sapi/v1/authorization/introspect", getUserServiceHost());
         HttpHeaders headers = new HttpHeaders();
         headers.set("Authorization", authHeader);
         HttpEntity<?> entity = new HttpEntity<>(headers);
 
         try {
-            ResponseEntity<PublicUser> user = new RestTemplate().exchange(
+            ResponseEntity<UserSession> session = call("introspect", true, () -> restTemplate.exchange(
                     url,
                     HttpMethod.GET,
                     entity,
-                    PublicUser.class
-            );
-            return user.getBody();
+                    UserSession.class
+            ));
+            return session.getBody();
+        }
+        catch (ServiceUnavailableException ex) {
+            throw ex;
         }
         catch (HttpClientErrorException ex) {
             // Handle specific HTTP client errors (4xx)
@@ -96,21 +173,32 @@ public class UserServiceClientImpl implements UserServiceClient {
      */
     @Override
     public PublicUser getUserById(Long userId) {
-        String url = String.format("%sapi/v1/users/public/%s", getUserServiceHost(), userId.toString());
-        HttpHeaders headers = new HttpHeaders();
-        HttpEntity<?> entity = new HttpEntity<>(headers);
+        // A bypassing read must not share a lookup that may have started before the data it needs was written
+        if (publicUserCacheService.isBypassed()) {
+            return publicUserCacheService.get(userId, this::fetchUserById);
+        }
+        return publicUserCacheService.get(userId, id -> userLookups.execute(id, () -> fetchUserById(id)));
+    }
+
+    private PublicUser fetchUserById(Long userId) {
+        String url = String.format("%sapi/v1/users/public/{userId}", getUserServiceHost());
+        HttpEntity<?> entity = new HttpEntity<>(userLookupHeaders(false));
         try {
-            ResponseEntity<PublicUser> user = new RestTemplate().exchange(
+            ResponseEntity<PublicUser> user = call("user", true, () -> restTemplate.exchange(
                     url,
                     HttpMethod.GET,
                     entity,
-                    PublicUser.class
-            );
+                    PublicUser.class,
+                    userId
+            ));
             return user.getBody();
         }
         catch (ResourceNotFoundException ex) {
             throw new ServiceClientException("Resource not found with id: " + userId);
         }
+        catch (ServiceUnavailableException ex) {
+            throw ex;
+        }
         catch (HttpClientErrorException ex) {
             // Handle specific HTTP client errors (4xx)
             throw new ServiceClientException("Error communicating with the service:  " + ex.getStatusText());
@@ -120,21 +208,102 @@ public class UserServiceClientImpl implements UserServiceClient {
         }
     }
 
+    /**
+     * Get the public information of many users, serving cached users locally and fetching the others
+     * in as few calls as the batch size allows.
+     *
+     * @param userIds The user ids of the users.
+     * @return The users found and the ids that were not found.
+     */
     @Override
-    public PublicUserListResponse getUsersById(List<Long> userIds) {
+    public PublicUserBatchResponse getUsersById(Collection<Long> userIds) {
+        try {
+            return getUsersByIdAsync(userIds).join();
+        }
+        catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ServiceClientException("An error occurred: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Get public user information based on the user id without blocking the calling thread.
+     * Unlike getUserById, a user that does not exist completes with null.
+     *
+     * @param userId The user id of the user.
+     * @return Completes with the public user information, or with null if no user exists with the given id.
+     */
+    @Override
+    public CompletableFuture<PublicUser> getUserByIdAsync(Long userId) {
+        if (userId == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return getUsersByIdAsync(List.of(userId)).thenApply(response -> response.getUsers().isEmpty() ? null : response.getUsers().get(0));
+    }
+
+    /**
+     * Get the public information of many users without blocking the calling thread. Cached users are served
+     * locally, the others are fetched in batches that are issued in parallel on the service client executor.
+     *
+     * @param userIds The user ids of the users.
+     * @return Completes with the users found and the ids that were not found.
+     */
+    @Override
+    public CompletableFuture<PublicUserBatchResponse> getUsersByIdAsync(Collection<Long> userIds) {
+        List<Long> distinctIds = userIds.stream().filter(Objects::nonNull).distinct().toList();
+        // The cache and whether the request bypasses it are consulted on the calling thread, which holds the request
+        Map<Long, PublicUser> cachedUsers = publicUserCacheService.getAllPresent(distinctIds);
+        List<Long> uncachedIds = distinctIds.stream().filter(id -> !cachedUsers.containsKey(id)).toList();
+        CompletableFuture<Map<Long, PublicUser>> fetchedUsers = uncachedIds.isEmpty() ? CompletableFuture.completedFuture(Map.of())
+                : publicUserCacheService.isBypassed() ? fetchUsersInBatches(uncachedIds)
+                : userLookups.executeAllAsync(uncachedIds, this::fetchUsersInBatches);
+        return fetchedUsers.thenApply(fetched -> {
+            PublicUserBatchResponse result = new PublicUserBatchResponse();
+            result.getUsers().addAll(cachedUsers.values());
+            result.getUsers().addAll(fetched.values());
+            uncachedIds.stream().filter(id -> !fetched.containsKey(id)).forEach(result.getMissingIds()::add);
+            return result;
+        });
+    }
+
+    private CompletableFuture<Map<Long, PublicUser>> fetchUsersInBatches(List<Long> userIds) {
+        int batchSize = getUserBatchSize();
+        List<CompletableFuture<PublicUserBatchResponse>> batches = new ArrayList<>();
+        for (int from = 0; from < userIds.size(); from += batchSize) {
+            List<Long> batch = List.copyOf(userIds.subList(from, Math.min(from + batchSize, userIds.size())));
+            batches.add(CompletableFuture.supplyAsync(() -> fetchUsersById(batch), serviceClientExecutor));
+        }
+        return CompletableFuture.allOf(batches.toArray(new CompletableFuture[0])).thenApply(ignored -> {
+            Map<Long, PublicUser> users = new HashMap<>();
+            for (CompletableFuture<PublicUserBatchResponse> batch : batches) {
+                PublicUserBatchResponse response = batch.join();
+                if (response != null) {
+                    publicUserCacheService.putAll(response.getUsers());
+                    response.getUsers().forEach(user -> users.put(user.getId(), user));
+                }
+            }
+            return users;
+        });
+    }
+
+    private PublicUserBatchResponse fetchUsersById(List<Long> userIds) {
         String url = String.format("%sapi/v1/users/public", getUserServiceHost());
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity<?> entity = new HttpEntity<>("{\"userIds\": \"" + userIds + "\"}", headers);
+        HttpEntity<?> entity = new HttpEntity<>(Map.of("userIds", userIds), userLookupHeaders(true));
         try {
-            ResponseEntity<PublicUserListResponse> user = new RestTemplate().exchange(
+            // A lookup despite the POST, so it is retried like the other reads
+            ResponseEntity<PublicUserBatchResponse> users = call("users", true, () -> restTemplate.exchange(
                     url,
                     HttpMethod.POST,
                     entity,
-                    PublicUserListResponse.class
-            );
+                    PublicUserBatchResponse.class
+            ));
 
-            return user.getBody();
+            return users.getBody();
+        }
+        catch (ServiceUnavailableException ex) {
+            throw ex;
         }
         catch (HttpClientErrorException ex) {
             // Handle specific HTTP client errors (4xx)
@@ -147,17 +316,21 @@ public class UserServiceClientImpl implements UserServiceClient {
 
     @Override
     public void updateUserProjectAllocation(Long userId, Long projectId) {
-        String url = String.format("%sapi/v1/users/public/%s", getUserServiceHost(), userId.toString());
+        String url = String.format("%sapi/v1/users/public/{userId}", getUserServiceHost());
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         HttpEntity<?> entity = new HttpEntity<>("{\"projectAllocatedId\": \"" + projectId + "\"}", headers);
         try {
-            new RestTemplate().exchange(
+            call("allocation", false, () -> restTemplate.exchange(
                     url,
                     HttpMethod.POST,
                     entity,
-                    String.class
-            );
+                    String.class,
+                    userId
+            ));
+        }
+        catch (ServiceUnavailableException ex) {
+            throw ex;
         }
         catch (HttpClientErrorException ex) {
             // Handle specific HTTP client errors (4xx)
@@ -167,4 +340,96 @@ public class UserServiceClientImpl implements UserServiceClient {
             throw new ServiceClientException("An error occurred: " + ex.getMessage());
         }
     }
+
+    /**
+     * Get the public keys used by user-service to sign tokens.
+     *
+     * @return The published key set.
+     */
+    @Override
+    public JsonWebKeySet getSigningKeys() {
+        String url = String.format("%sapi/v1/authorization/keys", getUserServiceHost());
+        try {
+            ResponseEntity<JsonWebKeySet> keys = call("keys", true, () -> restTemplate.exchange(
+                    url,
+                    HttpMethod.GET,
+                    new HttpEntity<>(new HttpHeaders()),
+                    JsonWebKeySet.class
+            ));
+            return keys.getBody();
+        }
+        catch (ServiceUnavailableException ex) {
+            throw ex;
+        }
+        catch (HttpClientErrorException ex) {
+            // Handle specific HTTP client errors (4xx)
+            throw new ServiceClientException("Error communicating with the service:  " + ex.getStatusText());
+        } catch (Exception ex) {
+            // Handle other exceptions
+            throw new ServiceClientException("An error occurred: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Get the tokens revoked after the given position.
+     *
+     * @param afterId Position of the last revoked token already known.
+     * @return The next page of revoked tokens.
+     */
+    @Override
+    public TokenRevocationResponse getRevokedTokens(Long afterId) {
+        String url = String.format("%sapi/v1/authorization/revocations?after={afterId}", getUserServiceHost());
+        try {
+            ResponseEntity<TokenRevocationResponse> revocations = call("revocations", true, () -> restTemplate.exchange(
+                    url,
+                    HttpMethod.GET,
+                    new HttpEntity<>(new HttpHeaders()),
+                    TokenRevocationResponse.class,
+                    afterId
+            ));
+            return revocations.getBody();
+        }
+        catch (ServiceUnavailableException ex) {
+            throw ex;
+        }
+        catch (HttpClientErrorException ex) {
+            // Handle specific HTTP client errors (4xx)
+            throw new ServiceClientException("Error communicating with the service:  " + ex.getStatusText());
+        } catch (Exception ex) {
+            // Handle other exceptions
+            throw new ServiceClientException("An error occurred: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Run a call to an endpoint of user-service through the shared bulkhead and the endpoint's circuit breaker.
+     * Reads are retried within the retry budget. Calls rejected by the bulkhead or circuit breaker, and calls that
+     * failed because of user-service, are reported as ServiceUnavailableException.
+     *
+     * @param endpoint  Name of the endpoint, which names its circuit breaker.
+     * @param retryable Whether the call is a read that can safely be repeated.
+     * @param exchange  Performs the HTTP call.
+     * @return The response of the call.
+     */
+    private <T> T call(String endpoint, boolean retryable, Supplier<T> exchange) {
+        CircuitBreaker circuitBreaker = userServiceCircuitBreakerRegistry.circuitBreaker(UserServiceResilienceConfig.USER_SERVICE + "-" + endpoint);
+        Supplier<T> decorated = Bulkhead.decorateSupplier(userServiceBulkhead, CircuitBreaker.decorateSupplier(circuitBreaker, exchange));
+        if (retryable) {
+            // Retries wait outside the bulkhead, so a backing-off call does not hold a slot
+            decorated = Retry.decorateSupplier(userServiceRetry, decorated);
+        }
+        userServiceRetryBudget.deposit();
+        try {
+            return decorated.get();
+        }
+        catch (CallNotPermittedException | BulkheadFullException ex) {
+            throw new ServiceUnavailableException("User service is unavailable: " + ex.getMessage());
+        }
+        catch (RuntimeException ex) {
+            if (UserServiceResilienceConfig.isServiceFailure(ex)) {
+                throw new ServiceUnavailableException("User service is unavailable: " + ex.getMessage());
+            }
+            throw ex;
+        }
+    }
 }
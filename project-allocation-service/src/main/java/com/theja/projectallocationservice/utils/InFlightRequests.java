@@ -0,0 +1,141 @@
+package com.theja.projectallocationservice.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Table of the lookups currently in flight, so that concurrent callers asking for the same key share one
+ * outstanding call instead of issuing duplicates. A key is only in the table while its call is running, so
+ * nothing is cached: a caller arriving after the call completed issues a new one.
+ * <p>
+ * Publishes inflight.requests counters tagged outcome=issued or outcome=coalesced, the number of keys currently
+ * in flight and the share of lookups that were coalesced, all tagged with the name of the table.
+ */
+public class InFlightRequests<K, V> {
+
+    private final Map<K, CompletableFuture<V>> requests = new ConcurrentHashMap<>();
+    private final Counter issued;
+    private final Counter coalesced;
+
+    public InFlightRequests(String name, MeterRegistry meterRegistry) {
+        this.issued = Counter.builder("inflight.requests").tag("name", name).tag("outcome", "issued")
+                .description("Lookups that issued a call").register(meterRegistry);
+        this.coalesced = Counter.builder("inflight.requests").tag("name", name).tag("outcome", "coalesced")
+                .description("Lookups that shared a call already in flight").register(meterRegistry);
+        Gauge.builder("inflight.requests.active", requests, Map::size).tag("name", name)
+                .description("Keys with a call in flight").register(meterRegistry);
+        Gauge.builder("inflight.requests.coalescing.ratio", this, InFlightRequests::coalescingRatio).tag("name", name)
+                .description("Share of lookups that shared a call already in flight").register(meterRegistry);
+    }
+
+    /**
+     * Look up a single key, joining the call already in flight for it if there is one.
+     *
+     * @param key  The key to look up.
+     * @param call Performs the lookup when no call for the key is in flight.
+     * @return The result of the call, which may have been issued by another caller.
+     */
+    public V execute(K key, Supplier<V> call) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = requests.putIfAbsent(key, future);
+        if (inFlight != null) {
+            coalesced.increment();
+            return join(inFlight);
+        }
+        issued.increment();
+        try {
+            V value = call.get();
+            future.complete(value);
+            return value;
+        }
+        catch (RuntimeException exception) {
+            future.completeExceptionally(exception);
+            throw exception;
+        }
+        finally {
+            requests.remove(key, future);
+        }
+    }
+
+    /**
+     * Look up many keys without blocking, joining the calls already in flight for some of them and issuing one
+     * call for the rest. Nothing waits on a shared call while holding keys of its own, so callers with overlapping
+     * keys cannot wait on each other.
+     *
+     * @param keys The keys to look up.
+     * @param call Looks up the keys that are not in flight, completing with the values found by key.
+     * @return Completes with the values found by key once all calls completed; keys without a value are left out.
+     */
+    public CompletableFuture<Map<K, V>> executeAllAsync(Collection<K> keys, Function<List<K>, CompletableFuture<Map<K, V>>> call) {
+        Map<K, CompletableFuture<V>> owned = new LinkedHashMap<>();
+        Map<K, CompletableFuture<V>> joined = new LinkedHashMap<>();
+        for (K key : new LinkedHashSet<>(keys)) {
+            CompletableFuture<V> future = new CompletableFuture<>();
+            CompletableFuture<V> inFlight = requests.putIfAbsent(key, future);
+            if (inFlight == null) {
+                owned.put(key, future);
+            } else {
+                joined.put(key, inFlight);
+            }
+        }
+        issued.increment(owned.size());
+        coalesced.increment(joined.size());
+
+        if (!owned.isEmpty()) {
+            CompletableFuture<Map<K, V>> ownCall;
+            try {
+                ownCall = call.apply(new ArrayList<>(owned.keySet()));
+            }
+            catch (RuntimeException exception) {
+                ownCall = CompletableFuture.failedFuture(exception);
+            }
+            ownCall.whenComplete((found, failure) -> owned.forEach((key, future) -> {
+                requests.remove(key, future);
+                if (failure != null) {
+                    future.completeExceptionally(failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure);
+                } else {
+                    future.complete(found.get(key));
+                }
+            }));
+        }
+
+        Map<K, CompletableFuture<V>> all = new LinkedHashMap<>(joined);
+        all.putAll(owned);
+        return CompletableFuture.allOf(all.values().toArray(new CompletableFuture[0])).thenApply(ignored -> {
+            Map<K, V> values = new HashMap<>();
+            all.forEach((key, future) -> {
+                V value = future.join();
+                if (value != null) {
+                    values.put(key, value);
+                }
+            });
+            return values;
+        });
+    }
+
+    private double coalescingRatio() {
+        double total = issued.count() + coalesced.count();
+        return total == 0 ? 0 : coalesced.count() / total;
+    }
+
+    // Rethrow the failure of a shared call as it was thrown to the caller that issued it
+    private V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        }
+        catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.theja.projectallocationservice.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe budget limiting retries to a share of the calls made. Every call deposits a fraction of a token,
+ * up to a maximum balance, and every retry needs a whole token. When the called service fails for everybody, the
+ * balance runs dry and retries stop instead of multiplying the load on the failing service.
+ */
+public class RetryBudget {
+
+    private static final long SCALE = 1000;  // Tokens are counted in thousandths to stay in integer arithmetic
+
+    private final long depositPerCall;
+    private final long maxBalance;
+    private final AtomicLong balance;
+
+    /**
+     * Create a budget that is full initially.
+     *
+     * @param retryRatio Retries allowed per call, e.g. 0.1 for one retry per ten calls.
+     * @param maxRetries Retries that can be saved up, bounding bursts of retries.
+     */
+    public RetryBudget(double retryRatio, int maxRetries) {
+        this.depositPerCall = Math.round(retryRatio * SCALE);
+        this.maxBalance = Math.max(1, maxRetries) * SCALE;
+        this.balance = new AtomicLong(maxBalance);
+    }
+
+    /**
+     * Record a call, adding its share to the budget.
+     */
+    public void deposit() {
+        balance.accumulateAndGet(depositPerCall, (current, deposit) -> Math.min(maxBalance, current + deposit));
+    }
+
+    /**
+     * Take a retry out of the budget.
+     *
+     * @return True if the retry may be made, false if the budget is exhausted.
+     */
+    public boolean tryWithdraw() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+        return true;
+    }
+
+    /**
+     * Get the number of whole retries currently available.
+     */
+    public long available() {
+        return balance.get() / SCALE;
+    }
+}
@@ -5,15 +5,14 @@ import com.theja.projectallocationservice.entities.enums.OpeningStatus;
 import com.theja.projectallocationservice.entities.enums.PermissionName;
 import com.theja.projectallocationservice.exceptions.UnauthorizedAccessException;
 import com.theja.projectallocationservice.entities.*;
-import com.theja.projectallocationservice.services.AuditCommentService;
-import com.theja.projectallocationservice.services.AuditLogService;
+import com.theja.projectallocationservice.services.AuditTrail;
 import com.theja.projectallocationservice.services.ProjectService;
 import com.theja.projectallocationservice.services.SkillService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
-import java.util.Date;
+import java.util.EnumSet;
 import java.util.List;
 
 @Service
@@ -24,71 +23,40 @@ public class OpeningValidationService {
     @Autowired
     private SkillService skillService;
     @Autowired
-    private AuditLogService auditLogService;
-    @Autowired
-    private AuditCommentService auditCommentService;
+    private AuditTrail auditTrail;
 
     public void validateCreateOpening(Opening opening, Long projectId, RequestContext requestContext) {
-        AuditLog auditLog = createAuditLog(projectId, requestContext);
+        auditTrail.start("Create Opening for project " + projectId);
+        auditTrail.step("Checking user permissions");
 
-        checkUserPermissions(requestContext, auditLog);
+        checkUserPermissions(requestContext);
 
-        assignProjectToOpening(opening, projectId, auditLog);
-        assignSkillsToOpening(opening, auditLog);
+        assignProjectToOpening(opening, projectId);
+        assignSkillsToOpening(opening);
         opening.setStatus(OpeningStatus.ACTIVE);
 
-        auditCommentService.createAuditComment(AuditComment.builder()
-                .comment("Opening validated")
-                .auditLog(auditLog)
-                .build());
-    }
-
-    private AuditLog createAuditLog(Long projectId, RequestContext requestContext) {
-        AuditLog auditLog = auditLogService.createAuditLog(
-                AuditLog.builder()
-                        .action("Create Opening for project " + projectId)
-                        .userId(requestContext.getLoggedinUser().getId())
-                        .loggedAt(new Date())
-                        .auditComments(new ArrayList<>())
-                        .build());
-        auditCommentService.createAuditComment(AuditComment.builder()
-                .comment("Checking user permissions")
-                .auditLog(auditLog)
-                .build());
-        return auditLog;
+        auditTrail.step("Opening validated");
     }
 
-    private void checkUserPermissions(RequestContext requestContext, AuditLog auditLog) {
-        if (requestContext.getPermissions() == null || !requestContext.getPermissions().contains(PermissionName.CREATE_OPENING.toString())) {
-            auditCommentService.createAuditComment(AuditComment.builder()
-                    .comment("Unauthorized user trying to create opening")
-                    .auditLog(auditLog)
-                    .build());
+    private void checkUserPermissions(RequestContext requestContext) {
+        if (!requestContext.hasPermissions(EnumSet.of(PermissionName.CREATE_OPENING))) {
+            auditTrail.step("Unauthorized user trying to create opening");
             throw new UnauthorizedAccessException("You don't have permission to create an opening.");
         }
-        auditCommentService.createAuditComment(AuditComment.builder()
-                .comment("Permissions passed")
-                .auditLog(auditLog)
-                .build());
+        auditTrail.step("Permissions passed");
     }
 
-    private void assignProjectToOpening(Opening opening, Long projectId, AuditLog auditLog) {
+    private void assignProjectToOpening(Opening opening, Long projectId) {
         opening.setProject(projectService.getProjectById(projectId));
-        auditCommentService.createAuditComment(AuditComment.builder()
-                .comment("Project mapped to opening")
-                .auditLog(auditLog)
-                .build());
+        auditTrail.step("Project mapped to opening");
     }
 
-    private void assignSkillsToOpening(Opening opening, AuditLog auditLog) {
+    private void assignSkillsToOpening(Opening opening) {
         List<Skill> skills = new ArrayList<>();
         for (Skill skill : opening.getSkills()) {
             skills.add(skillService.getSkillById(skill.getId()));
         }
         opening.setSkills(skills);
-        auditCommentService.createAuditComment(AuditComment.builder()
-                .comment("Skills assigned to opening")
-                .auditLog(auditLog)
-                .build());
+        auditTrail.step("Skills assigned to opening");
     }
 }
@@ -0,0 +1,93 @@
+package com.theja.projectallocationservice.mappers;
+
+import com.theja.projectallocationservice.dto.PublicUser;
+import com.theja.projectallocationservice.dto.PublicUserBatchResponse;
+import com.theja.projectallocationservice.entities.Opening;
+import com.theja.projectallocationservice.services.PublicUserCacheService;
+import com.theja.projectallocationservice.services.UserLoader;
+import com.theja.projectallocationservice.services.UserServiceClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks that mapping a page of openings resolves all recruiters with a single batch lookup.
+ */
+@ExtendWith(MockitoExtension.class)
+class OpeningMapperTest {
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    @Mock
+    private PublicUserCacheService publicUserCacheService;
+
+    @InjectMocks
+    private UserLoader userLoader;
+
+    private OpeningMapper openingMapper;
+
+    @BeforeEach
+    void setUp() {
+        openingMapper = new OpeningMapper();
+        ReflectionTestUtils.setField(openingMapper, "userLoader", userLoader);
+    }
+
+    @Test
+    void mapsPageWithDuplicateRecruitersInOneBatchLookup() {
+        // 20 openings created by 3 recruiters
+        List<Opening> openings = LongStream.rangeClosed(1, 20).mapToObj(id -> opening(id, id % 3 + 1)).toList();
+        when(userServiceClient.getUsersByIdAsync(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> userIds = invocation.getArgument(0);
+            PublicUserBatchResponse response = new PublicUserBatchResponse();
+            userIds.forEach(userId -> response.getUsers().add(new PublicUser(userId, "User " + userId, null, null, List.of())));
+            return CompletableFuture.completedFuture(response);
+        });
+
+        List<com.theja.projectallocationservice.dto.Opening> mapped = openingMapper.entityToModel(openings, Expand.parse("recruiter"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> userIds = ArgumentCaptor.forClass(Collection.class);
+        verify(userServiceClient, times(1)).getUsersByIdAsync(userIds.capture());
+        verify(userServiceClient, never()).getUserById(any());
+        verify(userServiceClient, never()).getUsersById(anyCollection());
+        assertEquals(List.of(2L, 3L, 1L), List.copyOf(userIds.getValue()));
+        for (int i = 0; i < openings.size(); i++) {
+            assertEquals(openings.get(i).getRecruiterId(), mapped.get(i).getRecruiter().getId());
+        }
+    }
+
+    @Test
+    void skipsUserLookupWhenRecruiterIsNotExpanded() {
+        List<Opening> openings = LongStream.rangeClosed(1, 5).mapToObj(id -> opening(id, 1L)).toList();
+
+        List<com.theja.projectallocationservice.dto.Opening> mapped = openingMapper.entityToModel(openings, Expand.parse("title"));
+
+        verifyNoInteractions(userServiceClient);
+        mapped.forEach(opening -> assertNull(opening.getRecruiter()));
+    }
+
+    private static Opening opening(long id, long recruiterId) {
+        Opening opening = new Opening();
+        opening.setId(id);
+        opening.setTitle("Opening " + id);
+        opening.setRecruiterId(recruiterId);
+        return opening;
+    }
+}
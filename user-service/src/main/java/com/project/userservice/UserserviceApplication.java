@@ -2,12 +2,14 @@ package com.project.userservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main application class for the user service.
  * This class serves as the entry point for the Spring Boot application.
  */
 @SpringBootApplication
+@EnableScheduling
 public class UserserviceApplication {
 
 	/**
@@ -1,7 +1,9 @@
 package com.project.userservice.config;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -12,12 +14,22 @@ import org.springframework.security.crypto.password.PasswordEncoder;
  */
 @Configuration
 public class ApplicationConfig {
+
+    public static final int DEFAULT_BCRYPT_STRENGTH = 10;
+
+    @Autowired
+    private Environment environment;
+
+    private Integer getBcryptStrength() {
+        return environment.getProperty("BCRYPT_STRENGTH", Integer.class, DEFAULT_BCRYPT_STRENGTH);
+    }
+
     /**
-     * Define a bean for BCryptPasswordEncoder to securely encode passwords.
+     * Define a bean for BCryptPasswordEncoder to securely encode passwords, with a configurable cost.
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(getBcryptStrength());
     }
 
     /**
@@ -0,0 +1,43 @@
+package com.project.userservice.config;
+
+import com.project.userservice.dto.PublicUser;
+import com.project.userservice.dto.PublicUserBatchRequest;
+import com.project.userservice.dto.PublicUserBatchResponse;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Configuration class for the compact binary encoding of the internal user lookups.
+ * Other services may exchange public users as CBOR by asking for application/cbor. The converter is added after
+ * the JSON one and only handles the public user types, so JSON stays the default and the only encoding elsewhere.
+ */
+@Configuration
+public class InternalProtocolConfig implements WebMvcConfigurer {
+
+    // Types of the internal user lookups that may be encoded as CBOR
+    private static final List<Class<?>> BINARY_TYPES = List.of(PublicUser.class, PublicUserBatchRequest.class, PublicUserBatchResponse.class);
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Replace the CBOR converter Spring adds for every type when jackson-dataformat-cbor is present
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(Jackson2ObjectMapperBuilder.cbor().build()) {
+            @Override
+            public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+                return BINARY_TYPES.contains(clazz) && super.canRead(clazz, mediaType);
+            }
+
+            @Override
+            public boolean canWrite(Class<?> clazz, @Nullable MediaType mediaType) {
+                return BINARY_TYPES.contains(clazz) && super.canWrite(clazz, mediaType);
+            }
+        });
+    }
+}
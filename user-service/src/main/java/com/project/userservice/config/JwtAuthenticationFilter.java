@@ -1,9 +1,11 @@
 package com.project.userservice.config;
 
+import com.project.userservice.dto.VerifiedToken;
 import com.project.userservice.entities.User;
 import com.project.userservice.repositories.UserRepository;
 import com.project.userservice.services.BlacklistTokenService;
 import com.project.userservice.services.JwtService;
+import com.project.userservice.services.PrincipalCacheService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -29,6 +31,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter implements Ord
     private final JwtService jwtService;
     private final UserRepository userRepository;
     private final BlacklistTokenService blacklistTokenService;
+    private final PrincipalCacheService principalCacheService;
 
     private boolean disabled = false; // Flag to temporarily disable the filter
 
@@ -50,8 +53,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter implements Ord
         // Retrieve the request path
         String requestPath = request.getRequestURI();
 
-        // Exclude Swagger UI paths from authorization check
-        if (requestPath.startsWith("/swagger-ui") || requestPath.startsWith("/v3/api-docs")) {
+        // Exclude Swagger UI and actuator paths from authorization check
+        if (requestPath.startsWith("/swagger-ui") || requestPath.startsWith("/v3/api-docs") || requestPath.startsWith("/actuator")) {
             filterChain.doFilter(request, response); // Allow access without authorization check
             return;
         }
@@ -66,22 +69,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter implements Ord
         }
 
         // Check for certain conditions where the filter should not be applied.
-        if (!request.getServletPath().startsWith("/api/v1/authentication/register") && !request.getServletPath().startsWith("/api/v1/authentication/authenticate") && !request.getServletPath().startsWith("/api/v1/users/public") && (authHeader == null || !authHeader.startsWith("Bearer "))) {
+        if (!isPublicPath(request.getServletPath()) && (authHeader == null || !authHeader.startsWith("Bearer "))) {
             throw new RuntimeException("Invalid request");
-        } else if (request.getServletPath().startsWith("/api/v1/authentication/register") || request.getServletPath().startsWith("/api/v1/authentication/authenticate") || request.getServletPath().startsWith("/api/v1/users/public")) {
-            // For registration and authentication requests, bypass the filter and continue the chain.
+        } else if (isPublicPath(request.getServletPath())) {
+            // For registration, authentication and token verification requests, bypass the filter and continue the chain.
             filterChain.doFilter(request, response);
             return;
         }
 
         jwt = authHeader.substring(7);
-        userEmail = jwtService.extractSubject(jwt);
+
+        // Verify the token once; the verified claims are reused for the rest of the request.
+        final VerifiedToken verifiedToken = jwtService.verify(jwt);
+        request.setAttribute(VerifiedToken.class.getName(), verifiedToken);
+        userEmail = verifiedToken.getSubject();
 
         if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            User user = userRepository.findByEmail(userEmail).orElseThrow(RuntimeException::new);
+            User user = principalCacheService.get(userEmail, () -> userRepository.findByEmail(userEmail).orElseThrow(RuntimeException::new));
 
             // Validate the token and ensure it matches the stored token.
-            if (jwtService.isTokenValid(jwt, userEmail) && !blacklistTokenService.isTokenBlacklisted(jwt)) {
+            if (jwtService.isTokenValid(verifiedToken, userEmail) && !blacklistTokenService.isTokenBlacklisted(verifiedToken.getDigest())) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         user,
                         null,
@@ -101,6 +108,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter implements Ord
         throw  new RuntimeException("User email is not valid");
     }
 
+    /**
+     * Check whether the path is served without a token.
+     *
+     * @param servletPath The servlet path of the request.
+     * @return True if the path does not require authentication.
+     */
+    private boolean isPublicPath(String servletPath) {
+        return servletPath.startsWith("/api/v1/authentication/register")
+                || servletPath.startsWith("/api/v1/authentication/authenticate")
+                || servletPath.startsWith("/api/v1/users/public")
+                || servletPath.startsWith("/api/v1/authorization/keys")
+                || servletPath.startsWith("/api/v1/authorization/revocations");
+    }
+
     @Override
     public int getOrder() {
         // Set the order of the filter in the filter chain.
@@ -0,0 +1,96 @@
+package com.project.userservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Configuration class for the HTTP client used to call other services.
+ * All calls share one pool of kept-alive connections, so a call does not have to open a new TCP connection.
+ */
+@Configuration
+public class RestClientConfig {
+
+    @Autowired
+    private Environment environment;
+
+    private Integer getMaxConnections(){
+        return environment.getProperty("HTTP_CLIENT_MAX_CONNECTIONS", Integer.class, 200);
+    }
+
+    private Integer getMaxConnectionsPerRoute(){
+        return environment.getProperty("HTTP_CLIENT_MAX_CONNECTIONS_PER_ROUTE", Integer.class, 50);
+    }
+
+    private Long getConnectTimeoutMillis(){
+        return environment.getProperty("HTTP_CLIENT_CONNECT_TIMEOUT_MILLIS", Long.class, 2000L);
+    }
+
+    private Long getReadTimeoutMillis(){
+        return environment.getProperty("HTTP_CLIENT_READ_TIMEOUT_MILLIS", Long.class, 5000L);
+    }
+
+    private Long getKeepAliveSeconds(){
+        return environment.getProperty("HTTP_CLIENT_KEEP_ALIVE_SECONDS", Long.class, 30L);
+    }
+
+    private Long getIdleEvictionSeconds(){
+        return environment.getProperty("HTTP_CLIENT_IDLE_EVICTION_SECONDS", Long.class, 60L);
+    }
+
+    @Bean
+    public PoolingHttpClientConnectionManager httpClientConnectionManager(MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(getMaxConnections())
+                .setMaxConnPerRoute(getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(getConnectTimeoutMillis()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(getReadTimeoutMillis()))
+                        .build())
+                .build();
+        // Publishes httpcomponents.httpclient.pool.* gauges for leased, available and pending connections.
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "service-client").bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager httpClientConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(httpClientConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        // Waiting for a free connection from the pool is bounded like opening a new one.
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(getConnectTimeoutMillis()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(getReadTimeoutMillis()))
+                        // Used when the server does not send a Keep-Alive header.
+                        .setConnectionKeepAlive(TimeValue.ofSeconds(getKeepAliveSeconds()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(getIdleEvictionSeconds()))
+                .build();
+    }
+
+    /**
+     * Define the RestTemplate shared by the service clients. Built from the auto-configured builder so that
+     * every call is recorded in the http.client.requests metric, tagged by URI template.
+     */
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder restTemplateBuilder, CloseableHttpClient httpClient) {
+        return restTemplateBuilder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+                .build();
+    }
+}
@@ -1,21 +1,33 @@
 package com.project.userservice.controllers;
 
 import com.project.userservice.dto.PublicUser;
+import com.project.userservice.dto.SessionIntrospectionResponse;
+import com.project.userservice.dto.TokenRevocationResponse;
+import com.project.userservice.dto.VerifiedToken;
 import com.project.userservice.entities.enums.PermissionName;
 import com.project.userservice.entities.enums.Role;
 import com.project.userservice.mappers.UserMapper;
 import com.project.userservice.entities.*;
+import com.project.userservice.services.AuthorizationService;
+import com.project.userservice.services.BlacklistTokenService;
+import com.project.userservice.services.JwtService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Controller class responsible for handling user authorization and permission-related endpoints.
@@ -28,6 +40,15 @@ public class AuthorizationController {
     @Autowired
     private UserMapper userMapper;
 
+    @Autowired
+    private AuthorizationService authorizationService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private BlacklistTokenService blacklistTokenService;
+
     /**
      * Retrieves a list of permissions associated with the authenticated user's role.
      *
@@ -40,14 +61,7 @@ public class AuthorizationController {
         User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
 
         // Determine the user's role and return the appropriate list of permissions.
-        return switch (user.getRole()) {
-            case ADMIN ->
-                    List.of(PermissionName.CREATE_PROJECT, PermissionName.MANAGE_USERS, PermissionName.VIEW_USER_ACTIVITY, PermissionName.CREATE_OPENING, PermissionName.VIEW_PENDING_APPLICATIONS, PermissionName.VIEW_REPORTS, PermissionName.MANAGE_OPENINGS, PermissionName.REGISTER_USER, PermissionName.ADMIN_OWN_OPENINGS, PermissionName.ADMIN_OTHER_OPENINGS, PermissionName.MANAGE_INTERVIEWER_STATUS);
-            case RECRUITER ->
-                    List.of(PermissionName.CREATE_OPENING, PermissionName.VIEW_PENDING_APPLICATIONS, PermissionName.MANAGE_OPENINGS, PermissionName.VIEW_REPORTS, PermissionName.REGISTER_USER, PermissionName.RECRUITER_OWN_OPENINGS, PermissionName.RECRUITER_OTHER_OPENINGS, PermissionName.MANAGE_INTERVIEWER_STATUS);
-            case EMPLOYEE ->
-                    List.of(PermissionName.VIEW_ALL_OPENINGS, PermissionName.REGISTER_USER, PermissionName.VIEW_APPLIED_OPENINGS, PermissionName.INTERVIEWER);
-        };
+        return authorizationService.getPermissions(user.getRole());
     }
 
     /**
@@ -77,4 +91,60 @@ public class AuthorizationController {
         // Use the user mapper to convert the DBUser entity to a PublicUser model.
         return userMapper.entityToPublicModel(user);
     }
+
+    /**
+     * Retrieves the authenticated user, their role and permissions, and the expiry of the token in a single response.
+     * The response may be cached privately by the caller until the token expires.
+     *
+     * @param request The HTTP request carrying the token.
+     * @return The introspection of the current session.
+     */
+    @GetMapping("/introspect")
+    @Operation(summary = "Introspect session", description = "Retrieve the authenticated user, role, permissions and token expiry in a single response")
+    @ApiResponse(responseCode = "200", description = "Session introspected successfully", content = @Content(schema = @Schema(implementation = SessionIntrospectionResponse.class)))
+    public ResponseEntity<SessionIntrospectionResponse> introspect(HttpServletRequest request) {
+        User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+
+        // Reuse the token verified by the authentication filter instead of parsing it again.
+        VerifiedToken verifiedToken = (VerifiedToken) request.getAttribute(VerifiedToken.class.getName());
+        Date expiresAt = verifiedToken.getExpiresAt();
+
+        SessionIntrospectionResponse introspection = SessionIntrospectionResponse.builder()
+                .user(userMapper.entityToPublicModel(user))
+                .role(user.getRole())
+                .permissions(authorizationService.getPermissions(user.getRole()))
+                .expiresAt(expiresAt)
+                .build();
+
+        // Nothing about the session can be trusted past the token expiry, so it bounds how long callers may cache it.
+        long secondsUntilExpiry = Math.max(0, (expiresAt.getTime() - System.currentTimeMillis()) / 1000);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(secondsUntilExpiry)).cachePrivate())
+                .body(introspection);
+    }
+
+    /**
+     * Retrieves the JSON Web Key Set used to verify tokens issued by this service.
+     *
+     * @return The public signing keys in JWKS format.
+     */
+    @GetMapping("/keys")
+    @Operation(summary = "Get token verification keys", description = "Retrieve the public keys used to verify issued tokens, in JWKS format")
+    @ApiResponse(responseCode = "200", description = "Verification keys retrieved successfully")
+    public Map<String, Object> getKeys() {
+        return jwtService.getJsonWebKeySet();
+    }
+
+    /**
+     * Retrieves the digests of tokens revoked after the given position, so that other services can reject them.
+     *
+     * @param after Position of the last revoked token already known to the caller.
+     * @return The next page of revoked tokens and the position to continue from.
+     */
+    @GetMapping("/revocations")
+    @Operation(summary = "Get revoked tokens", description = "Retrieve the digests of tokens revoked after the given position")
+    @ApiResponse(responseCode = "200", description = "Revoked tokens retrieved successfully", content = @Content(schema = @Schema(implementation = TokenRevocationResponse.class)))
+    public TokenRevocationResponse getRevocations(@RequestParam(defaultValue = "0") Long after) {
+        return blacklistTokenService.getRevokedTokens(after);
+    }
 }
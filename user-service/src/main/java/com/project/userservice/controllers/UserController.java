@@ -20,9 +20,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.text.ParseException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 
 /**
@@ -59,22 +57,26 @@ public class UserController {
     }
 
     /**
-     * Gets list of users by their userId.
+     * Gets list of users by their userId in a single lookup.
      *
-     * @param requestBody The request body containing id of users.
-     * @return ResponseEntity indicating the result of the get operation.
+     * @param request The request body containing id of users.
+     * @return The users that were found and the requested ids that were not.
      */
     @PostMapping("/public")
     @Hidden
-    public PublicUserListResponse getUsers(@RequestBody Map<String, List<Long>> requestBody) {
-        List<Long> userIds = requestBody.get("userIds");
+    public PublicUserBatchResponse getUsers(@RequestBody PublicUserBatchRequest request) {
+        Set<Long> userIds = new LinkedHashSet<>();
+        if (request.getUserIds() != null) {
+            request.getUserIds().stream().filter(Objects::nonNull).forEach(userIds::add);
+        }
+
         List<PublicUser> publicUsers = new ArrayList<>();
-        for (Long userId: userIds ) {
-            User user = userService.getUserById(userId);
-            PublicUser publicUser = userMapper.entityToPublicModel(user);
-            publicUsers.add(publicUser);
+        Set<Long> missingIds = new LinkedHashSet<>(userIds);
+        for (User user : userService.getUsersByIds(userIds)) {
+            missingIds.remove(user.getId().longValue());
+            publicUsers.add(userMapper.entityToPublicModel(user));
         }
-        return new PublicUserListResponse(publicUsers, (long) publicUsers.size());
+        return new PublicUserBatchResponse(publicUsers, new ArrayList<>(missingIds));
     }
 
     /**
@@ -0,0 +1,13 @@
+package com.project.userservice.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Represents a request for the public information of several users at once.
+ */
+@Data
+public class PublicUserBatchRequest {
+    private List<Long> userIds; // IDs of the requested users
+}
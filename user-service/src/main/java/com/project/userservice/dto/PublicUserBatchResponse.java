@@ -0,0 +1,16 @@
+package com.project.userservice.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Represents the public information of a batch of users, along with the requested ids that were not found.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class PublicUserBatchResponse {
+    List<PublicUser> users;  // Public users that were found
+    List<Long> missingIds;   // Requested ids that do not belong to any user
+}
@@ -0,0 +1,21 @@
+package com.project.userservice.dto;
+
+import com.project.userservice.entities.enums.PermissionName;
+import com.project.userservice.entities.enums.Role;
+import lombok.*;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Represents everything known about the session of the authenticated user, resolved in a single request.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class SessionIntrospectionResponse {
+    PublicUser user;                    // Public representation of the authenticated user
+    Role role;                          // Role of the authenticated user
+    List<PermissionName> permissions;   // Permissions associated with the user's role
+    Date expiresAt;                     // Expiry of the token used for the request
+}
@@ -0,0 +1,16 @@
+package com.project.userservice.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Represents an incremental page of the token revocation feed.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class TokenRevocationResponse {
+    List<RevokedToken> tokens;  // Tokens revoked after the requested position
+    Long lastId;                // Position to pass as the "after" parameter of the next request
+}
@@ -0,0 +1,21 @@
+package com.project.userservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents an event published to other services so they can invalidate what they cached about a user or token.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserEventMessage {
+    private String eventType;   // Type of the event, one of UserEventType
+    private Integer userId;     // Id of the affected user, if any
+    private String tokenDigest; // SHA-256 hex digest of the affected token, if any
+    private Long expiresAt;     // Expiry of the affected token in epoch milliseconds, if any
+    private Long occurredAt;    // Time of the event in epoch milliseconds
+}
@@ -0,0 +1,26 @@
+package com.project.userservice.dto;
+
+import io.jsonwebtoken.Claims;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * Represents a token whose signature and expiry have been verified, so that its claims can be used without parsing it again.
+ */
+@Getter
+@AllArgsConstructor
+public class VerifiedToken {
+    private final String digest;    // SHA-256 hex digest of the token
+    private final String subject;   // Subject of the token, the user's email
+    private final Date expiresAt;   // Expiry of the token
+    private final Claims claims;    // All verified claims of the token
+
+    /**
+     * Check whether the token is still within its validity period.
+     */
+    public boolean isExpired() {
+        return expiresAt.before(new Date());
+    }
+}
@@ -4,13 +4,15 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 
+import java.util.Date;
+
 @Getter
 @Setter
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "blacklist_tokens")
+@Table(name = "revoked_tokens", indexes = @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at"))
 public class BlacklistToken {
 
     @Id
@@ -18,5 +20,10 @@ public class BlacklistToken {
     private Long id; // Unique identifier for the blacklisted token.
 
     @NotNull
-    private String token; // Token of the user.
+    @Column(name = "token_digest", length = 64, nullable = false, unique = true)
+    private String tokenDigest; // SHA-256 hex digest of the token, so the token itself is never stored.
+
+    @NotNull
+    @Column(name = "expires_at", nullable = false)
+    private Date expiresAt; // Expiry of the token, after which the entry can be purged.
 }
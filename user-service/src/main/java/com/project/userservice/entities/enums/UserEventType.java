@@ -0,0 +1,8 @@
+package com.project.userservice.entities.enums;
+
+// Enum representing the kinds of user events published to other services.
+public enum UserEventType {
+    TOKEN_REVOKED,  // A token was revoked by logging out.
+    ROLE_CHANGED,   // The role, and therefore the permissions, of a user changed, or the user was deleted.
+    USER_CHANGED    // A user was created, updated or deleted, so cached public user data is stale.
+}
@@ -36,6 +36,17 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
     }
 
+    /**
+     * Handles InvalidRequestException and returns a 400 Bad Request response.
+     *
+     * @param ex The exception to handle.
+     * @return A ResponseEntity with a 400 Bad Request status and an error message.
+     */
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<String> handleInvalidRequestException(InvalidRequestException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
     /**
      * Handles CustomAuthenticationException and returns a 401 Unauthorized response.
      *
@@ -62,6 +73,17 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ex.getMessage());
     }
 
+    /**
+     * Handles ServiceUnavailableException and returns a 503 Service Unavailable response.
+     *
+     * @param ex The exception to handle.
+     * @return A ResponseEntity with a 503 Service Unavailable status and an error message.
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<String> handleServiceUnavailableException(ServiceUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").body(ex.getMessage());
+    }
+
     @ExceptionHandler(ServerSideGeneralException.class)
     public ResponseEntity<String> handleServerSideGeneralException(ServerSideGeneralException ex) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ex.getMessage());
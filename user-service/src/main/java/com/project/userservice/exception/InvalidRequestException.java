@@ -0,0 +1,16 @@
+package com.project.userservice.exception;
+
+/**
+ * Custom exception class for requests that are well-formed but cannot be served as asked.
+ */
+public class InvalidRequestException extends RuntimeException {
+
+    /**
+     * Constructor to create an instance of the exception with a custom error message.
+     *
+     * @param message The error message for the exception.
+     */
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.project.userservice.exception;
+
+/**
+ * Custom exception class for requests rejected because the service is temporarily overloaded.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    /**
+     * Constructor to create an instance of the exception with a custom error message.
+     *
+     * @param message The error message for the exception.
+     */
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
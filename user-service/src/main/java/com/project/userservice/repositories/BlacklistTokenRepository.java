@@ -2,11 +2,29 @@ package com.project.userservice.repositories;
 
 import com.project.userservice.entities.BlacklistToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.util.Date;
+import java.util.List;
 
 @Repository
 public interface BlacklistTokenRepository extends JpaRepository<BlacklistToken, Long> {
-    Optional<BlacklistToken> findByToken(Object token);
+    boolean existsByTokenDigest(String tokenDigest);
+
+    List<BlacklistToken> findTop500ByIdGreaterThanOrderByIdAsc(Long id);
+
+    @Query("SELECT b.tokenDigest FROM BlacklistToken b WHERE b.expiresAt > :now")
+    List<String> findActiveTokenDigests(@Param("now") Date now);
+
+    @Query("SELECT COALESCE(MAX(b.id), 0) FROM BlacklistToken b")
+    Long findMaxId();
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM BlacklistToken b WHERE b.expiresAt < :now")
+    int deleteExpired(@Param("now") Date now);
 }
@@ -4,8 +4,11 @@ import com.project.userservice.entities.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -44,4 +47,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
     */
    @Query(value = "SELECT * FROM users WHERE role='EMPLOYEE' and projectAllocatedId IS NOT NULL;", nativeQuery = true)
    Page<User> getAllAllocatedUsers(Pageable pageable);
+
+   /**
+    * Replaces the password hash of a user, but only if it still holds the expected hash,
+    * so that a rehash cannot overwrite a password changed in the meantime.
+    *
+    * @param id          The ID of the user.
+    * @param oldPassword The hash the password was verified against.
+    * @param newPassword The new hash.
+    * @return The number of updated users.
+    */
+   @Modifying
+   @Transactional
+   @Query("UPDATE User u SET u.password = :newPassword WHERE u.id = :id AND u.password = :oldPassword")
+   int updatePasswordHash(@Param("id") Integer id, @Param("oldPassword") String oldPassword, @Param("newPassword") String newPassword);
 }
@@ -7,7 +7,6 @@ import com.project.userservice.entities.User;
 import com.project.userservice.repositories.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -22,7 +21,7 @@ public class AuthenticationService {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     /**
      * Registers a new user based on the provided registration request.
@@ -30,6 +29,7 @@ public class AuthenticationService {
      * @param request The registration request containing user details.
      * @return The registered user with updated information.
      * @throws UserRegistrationException If the provided email is already registered.
+     * @throws ServiceUnavailableException If too many passwords are being hashed at the moment.
      */
     public User register(RegisterRequest request) {
         // Check if user with the given email already exists
@@ -42,7 +42,7 @@ public class AuthenticationService {
         var user = User.builder()
                 .name(request.getName())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHashingService.encode(request.getPassword()))
                 .role(request.getRole())
                 .isInterviewer(false)
                 .skillIds(null) // Skills will be set later
@@ -66,6 +66,7 @@ public class AuthenticationService {
      * @param request The authentication request containing user credentials.
      * @return The authenticated user if successful.
      * @throws RuntimeException If authentication fails.
+     * @throws ServiceUnavailableException If too many passwords are being hashed at the moment.
      */
     public User authenticate(AuthenticationRequest request) {
         // Retrieve the user based on the provided email from the repository.
@@ -84,7 +85,13 @@ public class AuthenticationService {
         }
         User existingUser = user.get();
         // Compare the provided password with the encoded password in the user object.
-        if (passwordEncoder.matches(request.getPassword(), existingUser.getPassword())) {
+        if (passwordHashingService.matches(request.getPassword(), existingUser.getPassword())) {
+            // Upgrade hashes created with another cost while the raw password is at hand.
+            if (passwordHashingService.needsRehash(existingUser.getPassword())) {
+                String oldPassword = existingUser.getPassword();
+                passwordHashingService.rehashInBackground(request.getPassword(),
+                        newPassword -> userRepository.updatePasswordHash(existingUser.getId(), oldPassword, newPassword));
+            }
             return existingUser; // Return the user if authentication is successful.
         }
         // Throw an exception if authentication fails.
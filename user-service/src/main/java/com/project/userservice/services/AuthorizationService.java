@@ -1,10 +1,14 @@
 package com.project.userservice.services;
 
 import com.project.userservice.entities.User;
+import com.project.userservice.entities.enums.PermissionName;
+import com.project.userservice.entities.enums.Role;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Service class responsible for generating JWT tokens for user authorization.
@@ -22,8 +26,31 @@ public class AuthorizationService {
      * @return The generated JWT token.
      */
     public String generateJWTTokenForUser(User user) {
-        // Generate a JWT token using the JwtService by passing an empty HashMap (claims)
-        // and the user's email as the subject of the token.
-        return jwtService.generateToken(new HashMap<>(), user.getEmail());
+        // Embed the user's identity and permissions so that other services can authorize
+        // requests from the token alone, with the user's email as the subject of the token.
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("userId", user.getId());
+        claims.put("name", user.getName());
+        claims.put("email", user.getEmail());
+        claims.put("role", user.getRole());
+        claims.put("permissions", getPermissions(user.getRole()));
+        return jwtService.generateToken(claims, user.getEmail());
+    }
+
+    /**
+     * Determines the list of permissions granted to the given role.
+     *
+     * @param role The role of the user.
+     * @return List of permissions associated with the role.
+     */
+    public List<PermissionName> getPermissions(Role role) {
+        return switch (role) {
+            case ADMIN ->
+                    List.of(PermissionName.CREATE_PROJECT, PermissionName.MANAGE_USERS, PermissionName.VIEW_USER_ACTIVITY, PermissionName.CREATE_OPENING, PermissionName.VIEW_PENDING_APPLICATIONS, PermissionName.VIEW_REPORTS, PermissionName.MANAGE_OPENINGS, PermissionName.REGISTER_USER, PermissionName.ADMIN_OWN_OPENINGS, PermissionName.ADMIN_OTHER_OPENINGS, PermissionName.MANAGE_INTERVIEWER_STATUS);
+            case RECRUITER ->
+                    List.of(PermissionName.CREATE_OPENING, PermissionName.VIEW_PENDING_APPLICATIONS, PermissionName.MANAGE_OPENINGS, PermissionName.VIEW_REPORTS, PermissionName.REGISTER_USER, PermissionName.RECRUITER_OWN_OPENINGS, PermissionName.RECRUITER_OTHER_OPENINGS, PermissionName.MANAGE_INTERVIEWER_STATUS);
+            case EMPLOYEE ->
+                    List.of(PermissionName.VIEW_ALL_OPENINGS, PermissionName.REGISTER_USER, PermissionName.VIEW_APPLIED_OPENINGS, PermissionName.INTERVIEWER);
+        };
     }
 }
@@ -1,27 +1,71 @@
 package com.project.userservice.services;
 
+import com.project.userservice.dto.RevokedToken;
+import com.project.userservice.dto.TokenRevocationResponse;
+import com.project.userservice.dto.UserEventMessage;
 import com.project.userservice.entities.BlacklistToken;
+import com.project.userservice.entities.enums.UserEventType;
 import com.project.userservice.exception.DatabaseAccessException;
 import com.project.userservice.exception.ServerSideGeneralException;
 import com.project.userservice.repositories.BlacklistTokenRepository;
+import com.project.userservice.utils.BloomFilter;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
 import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+@Slf4j
 @Service
 public class BlacklistTokenService {
 
+    private static final double BLOOM_FALSE_POSITIVE_PROBABILITY = 0.01;
+
     @Autowired
     private BlacklistTokenRepository blacklistTokenRepository;
 
-    public boolean isTokenBlacklisted(String token){
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private RabbitmqMessageService rabbitmqMessageService;
+
+    @Autowired
+    private Environment environment;
+
+    // Digests of all blacklisted tokens; null until it has been built, in which case the database is asked directly.
+    private volatile BloomFilter bloomFilter;
+
+    // Id of the last blacklist entry added to the Bloom filter, used to pick up entries added by other instances.
+    private volatile long lastSeenId;
+
+    // Digests blacklisted while the Bloom filter is being rebuilt, added to the new filter once it is swapped in;
+    // null when no rebuild is running.
+    private volatile Set<String> rebuildDigests;
+
+    private Long getBloomExpectedTokens() {
+        return environment.getProperty("BLACKLIST_BLOOM_EXPECTED_TOKENS", Long.class, 100_000L);
+    }
+
+    public boolean isTokenBlacklisted(String tokenDigest){
+        // The Bloom filter has no false negatives, so most requests are answered without the database.
+        BloomFilter filter = bloomFilter;
+        if (filter != null && !filter.mightContain(tokenDigest)) {
+            return false;
+        }
         try {
-            Optional<BlacklistToken> blacklistToken = blacklistTokenRepository.findByToken(token);
-            return blacklistToken.isPresent();
+            return blacklistTokenRepository.existsByTokenDigest(tokenDigest);
         }
         catch (DataAccessException exception){
             throw new DatabaseAccessException("Error accessing the database");
@@ -40,10 +84,139 @@ public class BlacklistTokenService {
 
         // Clear the Authorization header in the response to log the user out.
         response.setHeader("Authorization", "");
-        BlacklistToken blacklistToken = BlacklistToken.builder().token(token).build();
+        String tokenDigest = jwtService.digest(token);
+        Date expiresAt = jwtService.extractExpirationIgnoringExpiry(token);
+        if (expiresAt == null) {
+            // A token that cannot be verified is rejected anyway, so there is nothing to blacklist.
+            return;
+        }
+
+        try {
+            if (!blacklistTokenRepository.existsByTokenDigest(tokenDigest)) {
+                blacklistTokenRepository.save(BlacklistToken.builder().tokenDigest(tokenDigest).expiresAt(expiresAt).build());
+            }
+        }
+        catch (DataAccessException exception){
+            throw new DatabaseAccessException("Error accessing the database");
+        }
+        catch (Exception exception){
+            throw new ServerSideGeneralException("Something went wrong!");
+        }
+
+        // Record the digest for a running rebuild before adding it to the current filter, so that it reaches
+        // the new filter even if the current one is replaced in between.
+        Set<String> digestsDuringRebuild = rebuildDigests;
+        if (digestsDuringRebuild != null) {
+            digestsDuringRebuild.add(tokenDigest);
+        }
+        BloomFilter filter = bloomFilter;
+        if (filter != null) {
+            filter.put(tokenDigest);
+        }
+
+        // Let other services drop whatever they cached for this token right away.
+        rabbitmqMessageService.sendUserEvent(UserEventMessage.builder()
+                .eventType(UserEventType.TOKEN_REVOKED.toString())
+                .tokenDigest(tokenDigest)
+                .expiresAt(expiresAt.getTime())
+                .occurredAt(System.currentTimeMillis())
+                .build());
+    }
+
+    /**
+     * Retrieves the tokens blacklisted after the given position, identified by their digests only.
+     * Tokens that are already expired are skipped since they are rejected anyway.
+     *
+     * @param afterId Position of the last blacklisted token already known to the caller.
+     * @return The next page of revoked tokens and the position to continue from.
+     */
+    public TokenRevocationResponse getRevokedTokens(Long afterId){
+        List<BlacklistToken> blacklistTokens = findBlacklistTokensAfter(afterId);
+
+        Date now = new Date();
+        Long lastId = afterId;
+        List<RevokedToken> revokedTokens = new ArrayList<>();
+        for (BlacklistToken blacklistToken : blacklistTokens) {
+            lastId = blacklistToken.getId();
+            if (blacklistToken.getExpiresAt().after(now)) {
+                revokedTokens.add(new RevokedToken(blacklistToken.getTokenDigest(), blacklistToken.getExpiresAt()));
+            }
+        }
+        return TokenRevocationResponse.builder().tokens(revokedTokens).lastId(lastId).build();
+    }
+
+    /**
+     * Builds the Bloom filter from all blacklisted tokens that have not expired yet.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildBloomFilter() {
+        Set<String> digestsDuringRebuild = ConcurrentHashMap.newKeySet();
+        rebuildDigests = digestsDuringRebuild;
+        try {
+            long maxId = blacklistTokenRepository.findMaxId();
+            List<String> digests = blacklistTokenRepository.findActiveTokenDigests(new Date());
+            BloomFilter filter = new BloomFilter(Math.max(getBloomExpectedTokens(), digests.size() * 2L), BLOOM_FALSE_POSITIVE_PROBABILITY);
+            digests.forEach(filter::put);
+            lastSeenId = maxId;
+            bloomFilter = filter;
+            // Tokens blacklisted since the rebuild started may only be in the replaced filter.
+            digestsDuringRebuild.forEach(filter::put);
+            log.info("Built token blacklist Bloom filter with {} entries", digests.size());
+        }
+        catch (Exception exception){
+            // Without a filter every check goes to the database, which is slower but still correct.
+            log.warn("Could not build token blacklist Bloom filter: " + exception.getMessage());
+        }
+        finally {
+            rebuildDigests = null;
+        }
+    }
+
+    /**
+     * Adds tokens blacklisted by other instances of this service to the Bloom filter.
+     */
+    @Scheduled(fixedDelayString = "${BLACKLIST_REFRESH_INTERVAL:2000}")
+    public void refreshBloomFilter() {
+        BloomFilter filter = bloomFilter;
+        if (filter == null) {
+            rebuildBloomFilter();
+            return;
+        }
+        try {
+            List<BlacklistToken> blacklistTokens;
+            do {
+                blacklistTokens = blacklistTokenRepository.findTop500ByIdGreaterThanOrderByIdAsc(lastSeenId);
+                for (BlacklistToken blacklistToken : blacklistTokens) {
+                    filter.put(blacklistToken.getTokenDigest());
+                    lastSeenId = blacklistToken.getId();
+                }
+            } while (!blacklistTokens.isEmpty());
+        }
+        catch (Exception exception){
+            log.warn("Could not refresh token blacklist Bloom filter: " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Removes blacklist entries of tokens that have expired anyway, then rebuilds the Bloom filter
+     * since bits of removed entries cannot be cleared.
+     */
+    @Scheduled(fixedDelayString = "${BLACKLIST_PURGE_INTERVAL:3600000}", initialDelayString = "${BLACKLIST_PURGE_INTERVAL:3600000}")
+    public void purgeExpiredTokens() {
+        try {
+            int purged = blacklistTokenRepository.deleteExpired(new Date());
+            log.info("Purged {} expired blacklisted tokens", purged);
+        }
+        catch (Exception exception){
+            log.warn("Could not purge expired blacklisted tokens: " + exception.getMessage());
+            return;
+        }
+        rebuildBloomFilter();
+    }
 
+    private List<BlacklistToken> findBlacklistTokensAfter(Long afterId){
         try {
-            blacklistTokenRepository.save(blacklistToken);
+            return blacklistTokenRepository.findTop500ByIdGreaterThanOrderByIdAsc(afterId);
         }
         catch (DataAccessException exception){
             throw new DatabaseAccessException("Error accessing the database");
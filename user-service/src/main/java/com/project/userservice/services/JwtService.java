@@ -1,37 +1,129 @@
 package com.project.userservice.services;
 
+import com.project.userservice.dto.VerifiedToken;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
 
-import java.security.Key;
-import java.util.Date;
-import java.util.Map;
-import java.util.Objects;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.*;
 import java.util.function.Function;
 
 /**
  * Service class responsible for generating, validating, and extracting JWT tokens.
+ * Tokens are signed with RS256 so that other services can verify them with the published public key.
  */
+@Slf4j
 @Service
 public class JwtService {
 
     @Autowired
     private Environment environment;
 
-    private String getJwtSecretKey() {
-        return environment.getProperty("JWT_SECRET_KEY");
+    private PrivateKey signingKey;
+    private RSAPublicKey verificationKey;
+    private String keyId;
+    private JwtParser jwtParser;
+
+    // Recently verified tokens keyed by digest, in access order, so repeated tokens skip signature verification.
+    private Map<String, VerifiedToken> verifiedTokens;
+
+    private String getJwtPrivateKey() {
+        return environment.getProperty("JWT_PRIVATE_KEY");
+    }
+
+    private String getJwtPublicKey() {
+        return environment.getProperty("JWT_PUBLIC_KEY");
+    }
+
+    // Only meant for local development, since tokens signed with an ephemeral key pair break on every restart
+    private Boolean isEphemeralKeyAllowed(){
+        return environment.getProperty("JWT_EPHEMERAL_KEY", Boolean.class, false);
     }
 
     private Long getTokenExpirationTime(){
         return Long.valueOf(Objects.requireNonNull(environment.getProperty("JWT_EXPIRATION_TIME")));
     }
 
+    private Integer getVerifiedTokenCacheSize(){
+        return environment.getProperty("JWT_VERIFIED_TOKEN_CACHE_SIZE", Integer.class, 1024);
+    }
+
+    /**
+     * Load the RSA key pair and build the parser once at startup. Startup fails if no key pair is configured, unless
+     * JWT_EPHEMERAL_KEY allows generating an ephemeral one, which invalidates all issued tokens on restart and is
+     * therefore only meant for local development.
+     */
+    @PostConstruct
+    public void loadKeys() throws Exception {
+        if (isBlank(getJwtPrivateKey()) || isBlank(getJwtPublicKey())) {
+            if (!isEphemeralKeyAllowed()) {
+                throw new IllegalStateException("JWT_PRIVATE_KEY and JWT_PUBLIC_KEY must be set; set JWT_EPHEMERAL_KEY=true to generate an ephemeral key pair for local development");
+            }
+            log.warn("JWT_PRIVATE_KEY/JWT_PUBLIC_KEY not set, generating an ephemeral signing key pair");
+            KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
+            signingKey = keyPair.getPrivate();
+            verificationKey = (RSAPublicKey) keyPair.getPublic();
+        } else {
+            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+            signingKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(Decoders.BASE64.decode(getJwtPrivateKey().trim())));
+            verificationKey = (RSAPublicKey) keyFactory.generatePublic(new X509EncodedKeySpec(Decoders.BASE64.decode(getJwtPublicKey().trim())));
+        }
+        // Key id is derived from the public key so that it changes whenever the key is rotated.
+        keyId = base64Url(sha256(verificationKey.getEncoded())).substring(0, 16);
+        jwtParser = Jwts.parserBuilder().setSigningKey(verificationKey).build();
+
+        final int cacheSize = getVerifiedTokenCacheSize();
+        verifiedTokens = Collections.synchronizedMap(new LinkedHashMap<>(cacheSize, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Verify the signature and expiry of a token once and return its claims.
+     * Tokens verified recently are served from a small LRU until they expire.
+     *
+     * @param token The raw JWT token.
+     * @return The verified token.
+     * @throws io.jsonwebtoken.JwtException If the token is invalid or expired.
+     */
+    public VerifiedToken verify(String token) {
+        String digest = digest(token);
+        VerifiedToken verifiedToken = verifiedTokens.get(digest);
+        if (verifiedToken != null) {
+            if (!verifiedToken.isExpired()) {
+                return verifiedToken;
+            }
+            verifiedTokens.remove(digest);
+        }
+
+        Claims claims = extractAllClaims(token);
+        verifiedToken = new VerifiedToken(digest, claims.getSubject(), claims.getExpiration(), claims);
+        verifiedTokens.put(digest, verifiedToken);
+        return verifiedToken;
+    }
+
     /**
      * Extract the subject (typically user's email) from the JWT token.
      */
@@ -56,27 +148,55 @@ public class JwtService {
     ) {
         return Jwts
                 .builder()
+                .setHeaderParam("kid", keyId)
                 .setClaims(extraClaims)
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + getTokenExpirationTime()))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.RS256)
                 .compact();
     }
 
     /**
-     * Check if a given token is valid for the provided subject.
+     * Check if a verified token is valid for the provided subject.
+     */
+    public boolean isTokenValid(VerifiedToken verifiedToken, String subject) {
+        return subject.equals(verifiedToken.getSubject()) && !verifiedToken.isExpired();
+    }
+
+    /**
+     * Extract the expiration date of a token whose signature is valid, even if it has already expired.
+     * Returns null if the token cannot be verified at all.
+     */
+    public Date extractExpirationIgnoringExpiry(String token) {
+        try {
+            return extractExpiration(token);
+        } catch (ExpiredJwtException exception) {
+            return exception.getClaims().getExpiration();
+        } catch (Exception exception) {
+            return null;
+        }
+    }
+
+    /**
+     * Compute the SHA-256 hex digest of a token, used to refer to tokens without exposing them.
      */
-    public boolean isTokenValid(String token, String subject) {
-        final String tokenSubject = extractSubject(token);
-        return (subject.equals(tokenSubject)) && !isTokenExpired(token);
+    public String digest(String token) {
+        return HexFormat.of().formatHex(sha256(token.getBytes(StandardCharsets.UTF_8)));
     }
 
     /**
-     * Check if a given token has expired.
+     * Build the JSON Web Key Set containing the public key used to verify issued tokens.
      */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public Map<String, Object> getJsonWebKeySet() {
+        Map<String, Object> key = new LinkedHashMap<>();
+        key.put("kty", "RSA");
+        key.put("kid", keyId);
+        key.put("alg", SignatureAlgorithm.RS256.getValue());
+        key.put("use", "sig");
+        key.put("n", base64Url(unsigned(verificationKey.getModulus())));
+        key.put("e", base64Url(unsigned(verificationKey.getPublicExponent())));
+        return Map.of("keys", List.of(key));
     }
 
     /**
@@ -87,17 +207,31 @@ public class JwtService {
     }
 
     /**
-     * Extract all claims from the token using the signing key.
+     * Extract all claims from the token using the verification key.
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(getSignInKey()).build().parseClaimsJws(token).getBody();
+        return jwtParser.parseClaimsJws(token).getBody();
     }
 
-    /**
-     * Retrieve the signing key for JWT token creation and validation.
-     */
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(getJwtSecretKey());
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static byte[] sha256(byte[] input) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(input);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static byte[] unsigned(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        // Drop the sign byte BigInteger adds when the most significant bit is set.
+        return bytes[0] == 0 ? Arrays.copyOfRange(bytes, 1, bytes.length) : bytes;
+    }
+
+    private static String base64Url(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
     }
 }
@@ -0,0 +1,185 @@
+package com.project.userservice.services;
+
+import com.project.userservice.config.ApplicationConfig;
+import com.project.userservice.exception.ServerSideGeneralException;
+import com.project.userservice.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Service class running password hashing on a dedicated, bounded pool of threads, so that a burst of logins
+ * cannot take the CPU away from request threads serving other endpoints. When the pool is saturated, requests
+ * are rejected right away with a 503 instead of queueing without bound.
+ */
+@Slf4j
+@Service
+public class PasswordHashingService {
+
+    // Cost factor of a BCrypt hash such as $2a$10$..., used to detect hashes created with another cost.
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ThreadPoolExecutor executor;
+    private Timer encodeTimer;
+    private Timer matchTimer;
+    private Counter rejectedCounter;
+
+    private Integer getBcryptStrength() {
+        return environment.getProperty("BCRYPT_STRENGTH", Integer.class, ApplicationConfig.DEFAULT_BCRYPT_STRENGTH);
+    }
+
+    private Integer getThreads() {
+        return environment.getProperty("BCRYPT_THREADS", Integer.class, Runtime.getRuntime().availableProcessors());
+    }
+
+    private Integer getQueueCapacity() {
+        return environment.getProperty("BCRYPT_QUEUE_CAPACITY", Integer.class, getThreads() * 16);
+    }
+
+    private Long getQueueTimeoutMillis() {
+        return environment.getProperty("BCRYPT_QUEUE_TIMEOUT_MILLIS", Long.class, 5000L);
+    }
+
+    @PostConstruct
+    public void init() {
+        int threads = getThreads();
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("password.hashing.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Password hashing tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing tasks currently running")
+                .register(meterRegistry);
+        encodeTimer = Timer.builder("password.hashing.duration")
+                .description("Time spent hashing passwords")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        matchTimer = Timer.builder("password.hashing.duration")
+                .description("Time spent hashing passwords")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("password.hashing.rejected")
+                .description("Password hashing requests rejected because the pool was saturated")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Hash a raw password.
+     *
+     * @param rawPassword The password to hash.
+     * @return The hashed password.
+     * @throws ServiceUnavailableException If the hashing pool is saturated.
+     */
+    public String encode(String rawPassword) {
+        return await(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    /**
+     * Check a raw password against a stored hash.
+     *
+     * @param rawPassword     The password to check.
+     * @param encodedPassword The stored hash.
+     * @return True if the password matches.
+     * @throws ServiceUnavailableException If the hashing pool is saturated.
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return await(() -> matchTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * Check whether a stored hash was created with a cost other than the configured one.
+     *
+     * @param encodedPassword The stored hash.
+     * @return True if the password should be hashed again.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != getBcryptStrength();
+    }
+
+    /**
+     * Hash a verified password again with the configured cost in the background and hand the new hash to the
+     * given consumer. Nothing happens if the pool is busy, since the password is simply rehashed on a later login.
+     *
+     * @param rawPassword The verified password.
+     * @param store       Stores the new hash.
+     */
+    public void rehashInBackground(String rawPassword, Consumer<String> store) {
+        try {
+            executor.execute(() -> {
+                try {
+                    store.accept(encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+                } catch (Exception exception) {
+                    log.warn("Could not rehash password: " + exception.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            log.debug("Skipping password rehash, hashing pool is saturated");
+        }
+    }
+
+    private <T> T await(Supplier<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task::get);
+        } catch (RejectedExecutionException exception) {
+            rejectedCounter.increment();
+            throw new ServiceUnavailableException("Too many requests, please try again shortly");
+        }
+
+        try {
+            return future.get(getQueueTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException exception) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            throw new ServiceUnavailableException("Too many requests, please try again shortly");
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new ServiceUnavailableException("Too many requests, please try again shortly");
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ServerSideGeneralException("Something went wrong!");
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.project.userservice.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.userservice.entities.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Service class holding a bounded, expiring cache of authenticated users keyed by email,
+ * so that authenticating a request does not need a users-table lookup.
+ */
+@Service
+public class PrincipalCacheService {
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<String, User> principalCache;
+
+    private Long getCacheMaxSize() {
+        return environment.getProperty("PRINCIPAL_CACHE_MAX_SIZE", Long.class, 10_000L);
+    }
+
+    private Long getCacheTtlSeconds() {
+        return environment.getProperty("PRINCIPAL_CACHE_TTL_SECONDS", Long.class, 300L);
+    }
+
+    @PostConstruct
+    public void init() {
+        principalCache = Caffeine.newBuilder()
+                .maximumSize(getCacheMaxSize())
+                .expireAfterWrite(Duration.ofSeconds(getCacheTtlSeconds()))
+                .recordStats()
+                .build();
+        // Publishes cache.gets (hit/miss), cache.evictions and cache.size tagged with cache=principals.
+        CaffeineCacheMetrics.monitor(meterRegistry, principalCache, "principals");
+    }
+
+    /**
+     * Get the user with the given email, loading it on a miss.
+     *
+     * @param email  Email of the user.
+     * @param loader Loads the user from the database on a miss.
+     * @return The cached or freshly loaded user.
+     */
+    public User get(String email, Supplier<User> loader) {
+        return principalCache.get(email, key -> loader.get());
+    }
+
+    /**
+     * Drop the cached users with the given emails. Inside a transaction the entries are dropped again after commit,
+     * so a request racing with the write cannot put the old state back into the cache.
+     *
+     * @param emails Emails of the users that changed.
+     */
+    public void invalidate(String... emails) {
+        Iterable<String> keys = Arrays.stream(emails).filter(Objects::nonNull).toList();
+        principalCache.invalidateAll(keys);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principalCache.invalidateAll(keys);
+                }
+            });
+        }
+    }
+}
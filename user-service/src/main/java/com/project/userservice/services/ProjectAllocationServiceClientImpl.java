@@ -19,22 +19,26 @@ public class ProjectAllocationServiceClientImpl implements ProjectAllocationServ
     @Autowired
     private Environment environment;
 
+    @Autowired
+    private RestTemplate restTemplate;
+
     private String getProjectAllocationServiceHost(){
         return environment.getProperty("PROJECT_ALLOCATION_SERVICE");
     }
 
     @Override
     public Skill getSkill(Long skillId) {
-        String url = String.format("%sapi/v1/skills/%s", getProjectAllocationServiceHost(), skillId.toString());
+        String url = String.format("%sapi/v1/skills/{skillId}", getProjectAllocationServiceHost());
         HttpHeaders headers = new HttpHeaders();
         HttpEntity<?> requestEntity = new HttpEntity<>(headers);
 
         try {
-            ResponseEntity<Object> skillObject = new RestTemplate().exchange(
+            ResponseEntity<Object> skillObject = restTemplate.exchange(
                     url,
                     HttpMethod.GET,
                     requestEntity,
-                    Object.class
+                    Object.class,
+                    skillId
             );
 
             return (Skill) skillObject.getBody();
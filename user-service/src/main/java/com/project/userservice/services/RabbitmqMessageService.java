@@ -0,0 +1,50 @@
+package com.project.userservice.services;
+
+import com.project.userservice.dto.UserEventMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Service
+@Slf4j
+public class RabbitmqMessageService {
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private FanoutExchange userEventsExchange;
+
+    /**
+     * Publish a user event. Inside a transaction the event is only sent once the transaction commits,
+     * so consumers never reload data that is about to change or be rolled back.
+     *
+     * @param userEventMessage The event to publish.
+     */
+    public void sendUserEvent(UserEventMessage userEventMessage){
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(userEventMessage);
+                }
+            });
+        } else {
+            publish(userEventMessage);
+        }
+    }
+
+    private void publish(UserEventMessage userEventMessage){
+        try {
+            rabbitTemplate.convertAndSend(userEventsExchange.getName(), "", userEventMessage);
+        }
+        catch (Exception exception){
+            // Consumers fall back to cache expiry and the revocation feed, so a lost event must not fail the request.
+            log.warn("Error publishing user event: " + exception.getMessage());
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.project.userservice.dto.UpdateUserRequest;
 import com.project.userservice.entities.*;
 import org.springframework.data.domain.Page;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -53,6 +54,15 @@ public interface UserService {
      */
     User getUserById(Long userId);
 
+    /**
+     * Retrieves the users with the given ids in a single query. Ids that do not belong to any user are skipped.
+     *
+     * @param userIds The IDs of the users to retrieve.
+     * @return The users that were found.
+     * @throws com.project.userservice.exception.InvalidRequestException If more ids than the configured cap are given.
+     */
+    List<User> getUsersByIds(Collection<Long> userIds);
+
     /**
      * Creates a new user.
      *
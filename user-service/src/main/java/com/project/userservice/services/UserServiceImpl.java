@@ -2,8 +2,11 @@ package com.project.userservice.services;
 
 import com.project.userservice.dto.PublicUser;
 import com.project.userservice.dto.UpdateUserRequest;
+import com.project.userservice.dto.UserEventMessage;
+import com.project.userservice.entities.enums.UserEventType;
 import com.project.userservice.entities.enums.Role;
 import com.project.userservice.exception.DatabaseAccessException;
+import com.project.userservice.exception.InvalidRequestException;
 import com.project.userservice.exception.ResourceNotFoundException;
 import com.project.userservice.entities.*;
 import com.project.userservice.exception.ServerSideGeneralException;
@@ -12,12 +15,14 @@ import com.project.userservice.repositories.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
 import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,6 +35,19 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private RabbitmqMessageService rabbitmqMessageService;
+
+    @Autowired
+    private PrincipalCacheService principalCacheService;
+
+    @Autowired
+    private Environment environment;
+
+    private Integer getUserBatchMaxSize() {
+        return environment.getProperty("USER_BATCH_MAX_SIZE", Integer.class, 500);
+    }
+
     // Retrieve a user by their email.
     @Override
     public User getUser(String email) {
@@ -68,6 +86,10 @@ public class UserServiceImpl implements UserService {
         if (optionalUser.isPresent()) {
             // Delete the user
             userRepository.delete(optionalUser.get());
+            principalCacheService.invalidate(optionalUser.get().getEmail());
+            publishUserChanged(userId);
+            // A deleted user has no permissions left, so its tokens must stop being trusted like after a role change.
+            publishRoleChanged(userId);
         } else {
             throw new ResourceNotFoundException("User not found with id: " + userId);
         }
@@ -90,6 +112,8 @@ public class UserServiceImpl implements UserService {
             throw new ResourceNotFoundException("User not found with id: " + userId);
         }
         User existingUser = optionalUser.get();
+        String previousEmail = existingUser.getEmail();
+        boolean roleChanged = updatedUser.getRole() != null && updatedUser.getRole() != existingUser.getRole();
 
         // Apply partial updates only for the fields that are provided in updatedUser
         if (updatedUser.getName() != null) {
@@ -104,6 +128,11 @@ public class UserServiceImpl implements UserService {
         if (updatedUser.getRole() != null) {
             existingUser.setRole(updatedUser.getRole());
         }
+        principalCacheService.invalidate(previousEmail, existingUser.getEmail());
+        publishUserChanged(userId);
+        if (roleChanged) {
+            publishRoleChanged(userId);
+        }
         // Save the updated user
         try {
             return userRepository.save(existingUser);
@@ -152,10 +181,27 @@ public class UserServiceImpl implements UserService {
         return user.get();
     }
 
+    @Override
+    public List<User> getUsersByIds(Collection<Long> userIds) {
+        if (userIds.size() > getUserBatchMaxSize()) {
+            throw new InvalidRequestException("At most " + getUserBatchMaxSize() + " users can be requested at once");
+        }
+        try {
+            return userRepository.findAllById(userIds);
+        }
+        catch (DataAccessException exception){
+            throw new DatabaseAccessException("Error accessing the database");
+        }
+        catch (Exception exception){
+            throw new ServerSideGeneralException("Something went wrong!");
+        }
+    }
+
     @Override
     public User createUser(User newUser) {
+        User createdUser;
         try {
-            return userRepository.save(newUser);
+            createdUser = userRepository.save(newUser);
         }
         catch (DataAccessException exception){
             throw new DatabaseAccessException("Error accessing the database");
@@ -163,6 +209,8 @@ public class UserServiceImpl implements UserService {
         catch (Exception exception){
             throw new ServerSideGeneralException("Something went wrong!");
         }
+        publishUserChanged(createdUser.getId());
+        return createdUser;
     }
 
     @Override
@@ -195,6 +243,7 @@ public class UserServiceImpl implements UserService {
             throw new ResourceNotFoundException("User not found with id: " + userId);
         }
         User user = existingUser.get();
+        String previousEmail = user.getEmail();
         if (updateUserRequest.getName() != null) {
             user.setName(updateUserRequest.getName());
         }
@@ -204,6 +253,8 @@ public class UserServiceImpl implements UserService {
         if (updateUserRequest.getSkillIds() != null) {
             user.setSkillIds(updateUserRequest.getSkillIds());
         }
+        principalCacheService.invalidate(previousEmail, user.getEmail());
+        publishUserChanged(userId);
         try{
             userRepository.save(user);
         }
@@ -229,18 +280,22 @@ public class UserServiceImpl implements UserService {
             throw new ResourceNotFoundException("User not found with id: " + userId);
         }
         User user = existingUser.get();
+        String previousEmail = user.getEmail();
         if (publicUser.getName() != null) {
             user.setName(publicUser.getName());
         }
         if (publicUser.getEmail() != null) {
             user.setEmail(publicUser.getEmail());
         }
+        boolean roleChanged = publicUser.getRole() != null && publicUser.getRole() != user.getRole();
         if (publicUser.getRole() != null) {
             user.setRole(publicUser.getRole());
         }
         if (publicUser.isInterviewer() != user.isInterviewer()) {
             user.setInterviewer(publicUser.isInterviewer());
         }
+        principalCacheService.invalidate(previousEmail, user.getEmail());
+        publishUserChanged(userId);
         try {
             userRepository.save(user);
         } catch (DataAccessException exception) {
@@ -248,6 +303,9 @@ public class UserServiceImpl implements UserService {
         } catch (Exception exception) {
             throw new RuntimeException("Something went wrong!");
         }
+        if (roleChanged) {
+            publishRoleChanged(userId);
+        }
     }
 
     @Override
@@ -267,6 +325,8 @@ public class UserServiceImpl implements UserService {
         }
         User user = existingUser.get();
         user.setProjectAllocatedId(userProjectId);
+        principalCacheService.invalidate(user.getEmail());
+        publishUserChanged(user.getId());
         try{
             userRepository.save(user);
         }
@@ -327,4 +387,22 @@ public class UserServiceImpl implements UserService {
             throw new ServerSideGeneralException("Something went wrong!");
         }
     }
+
+    // Permissions derive from the role, so other services must stop trusting what they cached for this user.
+    private void publishRoleChanged(Integer userId) {
+        rabbitmqMessageService.sendUserEvent(UserEventMessage.builder()
+                .eventType(UserEventType.ROLE_CHANGED.toString())
+                .userId(userId)
+                .occurredAt(System.currentTimeMillis())
+                .build());
+    }
+
+    // Let other services drop what they cached about the user. The event is only sent once the write has committed.
+    private void publishUserChanged(Integer userId) {
+        rabbitmqMessageService.sendUserEvent(UserEventMessage.builder()
+                .eventType(UserEventType.USER_CHANGED.toString())
+                .userId(userId)
+                .occurredAt(System.currentTimeMillis())
+                .build());
+    }
 }
@@ -0,0 +1,76 @@
+package com.project.userservice.utils;
+
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over SHA-256 hex digests. A negative answer is definite, a positive one may be false.
+ * Since the elements are already uniformly distributed digests, the bit positions are derived from the digest
+ * itself by double hashing instead of hashing again.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * Create a filter sized for the expected number of elements and false positive probability.
+     *
+     * @param expectedInsertions        Number of elements the filter is sized for.
+     * @param falsePositiveProbability  Acceptable probability of a false positive at that size.
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        this.bits = new AtomicLongArray((int) ((m + 63) / 64));
+        this.bitCount = bits.length() * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    /**
+     * Add a digest to the filter.
+     */
+    public void put(String digest) {
+        long[] hashes = hashes(digest);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = index(hashes, i);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(word);
+            } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    /**
+     * Check whether a digest may have been added to the filter.
+     */
+    public boolean mightContain(String digest) {
+        long[] hashes = hashes(digest);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = index(hashes, i);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long index(long[] hashes, int i) {
+        return Math.floorMod(hashes[0] + i * hashes[1], bitCount);
+    }
+
+    private static long[] hashes(String digest) {
+        byte[] bytes = HexFormat.of().parseHex(digest);
+        long first = 0;
+        long second = 0;
+        for (int i = 0; i < 8; i++) {
+            first = (first << 8) | (bytes[i] & 0xFF);
+            second = (second << 8) | (bytes[i + 8] & 0xFF);
+        }
+        // An odd step guarantees the probes do not collapse onto the same bit.
+        return new long[]{first, second | 1};
+    }
+}
@@ -0,0 +1,57 @@
+package com.project.userservice.config;
+
+import com.project.userservice.dto.PublicUser;
+import com.project.userservice.dto.PublicUserBatchResponse;
+import com.project.userservice.entities.enums.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the JSON and CBOR encodings of a batch of public users, as returned by the internal user lookups.
+ * Encoding speed is measured by {@link PublicUserEncodingBenchmark}.
+ */
+class InternalProtocolConfigTest {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Test
+    void encodesUserBatchSmallerAsCbor() throws Exception {
+        List<HttpMessageConverter<?>> converters = new ArrayList<>();
+        MappingJackson2HttpMessageConverter jsonConverter = new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build());
+        converters.add(jsonConverter);
+        new InternalProtocolConfig().extendMessageConverters(converters);
+        MappingJackson2CborHttpMessageConverter cborConverter = converters.stream()
+                .filter(MappingJackson2CborHttpMessageConverter.class::isInstance)
+                .map(MappingJackson2CborHttpMessageConverter.class::cast)
+                .findFirst()
+                .orElseThrow();
+        PublicUserBatchResponse batch = new PublicUserBatchResponse(IntStream.rangeClosed(1, BATCH_SIZE)
+                .mapToObj(id -> new PublicUser(id, "User " + id, "user" + id + "@example.com", Role.values()[id % Role.values().length], id % 2 == 0))
+                .toList(), List.of(1001L, 1002L));
+
+        assertTrue(cborConverter.canWrite(PublicUserBatchResponse.class, MediaType.APPLICATION_CBOR));
+        assertFalse(cborConverter.canWrite(String.class, MediaType.APPLICATION_CBOR));
+
+        MockHttpOutputMessage json = new MockHttpOutputMessage();
+        jsonConverter.write(batch, MediaType.APPLICATION_JSON, json);
+        MockHttpOutputMessage cbor = new MockHttpOutputMessage();
+        cborConverter.write(batch, MediaType.APPLICATION_CBOR, cbor);
+
+        // Both encodings must carry the same content, CBOR in fewer bytes
+        byte[] jsonBytes = json.getBodyAsBytes();
+        byte[] cborBytes = cbor.getBodyAsBytes();
+        assertEquals(jsonConverter.getObjectMapper().readTree(jsonBytes), cborConverter.getObjectMapper().readTree(cborBytes));
+        assertTrue(cborBytes.length < jsonBytes.length, () -> "CBOR " + cborBytes.length + " bytes, JSON " + jsonBytes.length + " bytes");
+    }
+}
@@ -0,0 +1,76 @@
+package com.project.userservice.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.userservice.dto.PublicUser;
+import com.project.userservice.dto.PublicUserBatchResponse;
+import com.project.userservice.entities.enums.Role;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Measures encoding and decoding a batch of public users as JSON and as CBOR, with the object mappers the
+ * internal user lookups use. Run with {@code mvn -Pbenchmark -DskipTests verify -Dbenchmark=PublicUserEncodingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PublicUserEncodingBenchmark {
+
+    @Param({"100", "1000"})
+    public int batchSize;
+
+    private ObjectMapper jsonMapper;
+    private ObjectMapper cborMapper;
+    private PublicUserBatchResponse batch;
+    private byte[] json;
+    private byte[] cbor;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<HttpMessageConverter<?>> converters = new ArrayList<>();
+        new InternalProtocolConfig().extendMessageConverters(converters);
+        jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+        cborMapper = converters.stream()
+                .filter(MappingJackson2CborHttpMessageConverter.class::isInstance)
+                .map(converter -> ((MappingJackson2CborHttpMessageConverter) converter).getObjectMapper())
+                .findFirst()
+                .orElseThrow();
+        batch = new PublicUserBatchResponse(IntStream.rangeClosed(1, batchSize)
+                .mapToObj(id -> new PublicUser(id, "User " + id, "user" + id + "@example.com", Role.values()[id % Role.values().length], id % 2 == 0))
+                .toList(), List.of());
+        json = jsonMapper.writeValueAsBytes(batch);
+        cbor = cborMapper.writeValueAsBytes(batch);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws IOException {
+        return jsonMapper.writeValueAsBytes(batch);
+    }
+
+    @Benchmark
+    public byte[] encodeCbor() throws IOException {
+        return cborMapper.writeValueAsBytes(batch);
+    }
+
+    @Benchmark
+    public JsonNode decodeJson() throws IOException {
+        return jsonMapper.readTree(json);
+    }
+
+    @Benchmark
+    public JsonNode decodeCbor() throws IOException {
+        return cborMapper.readTree(cbor);
+    }
+}
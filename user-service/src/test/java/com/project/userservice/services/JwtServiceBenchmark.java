@@ -0,0 +1,44 @@
+package com.project.userservice.services;
+
+import com.project.userservice.dto.VerifiedToken;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-request cost of verifying a token, served from the cache of verified tokens and verified from
+ * scratch with the cache disabled. Run with {@code mvn -Pbenchmark -DskipTests verify -Dbenchmark=JwtServiceBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtService cachingJwtService;
+    private JwtService uncachedJwtService;
+    private String cachedToken;
+    private String uncachedToken;
+
+    @Setup
+    public void setUp() throws Exception {
+        cachingJwtService = JwtServiceTest.jwtService(3_600_000, 1024);
+        // A cache of size 0 evicts every entry as soon as it is added
+        uncachedJwtService = JwtServiceTest.jwtService(3_600_000, 0);
+        cachedToken = cachingJwtService.generateToken(Map.of("userId", 7), "user@example.com");
+        uncachedToken = uncachedJwtService.generateToken(Map.of("userId", 7), "user@example.com");
+    }
+
+    @Benchmark
+    public VerifiedToken verifyCached() {
+        return cachingJwtService.verify(cachedToken);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyUncached() {
+        return uncachedJwtService.verify(uncachedToken);
+    }
+}
@@ -0,0 +1,64 @@
+package com.project.userservice.services;
+
+import com.project.userservice.dto.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the cache of verified tokens kept by the JWT service.
+ */
+class JwtServiceTest {
+
+    static JwtService jwtService(long expirationMillis, int cacheSize) throws Exception {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "environment", new MockEnvironment()
+                .withProperty("JWT_EXPIRATION_TIME", String.valueOf(expirationMillis))
+                .withProperty("JWT_VERIFIED_TOKEN_CACHE_SIZE", String.valueOf(cacheSize))
+                .withProperty("JWT_EPHEMERAL_KEY", "true"));
+        // Without a configured key pair an ephemeral one is generated
+        jwtService.loadKeys();
+        return jwtService;
+    }
+
+    @Test
+    void returnsCachedClaimsForSameToken() throws Exception {
+        JwtService jwtService = jwtService(60_000, 16);
+        String token = jwtService.generateToken(Map.of("userId", 7), "user@example.com");
+
+        VerifiedToken first = jwtService.verify(token);
+        VerifiedToken second = jwtService.verify(token);
+
+        assertSame(first, second);
+        assertSame(first.getClaims(), second.getClaims());
+        assertEquals("user@example.com", second.getSubject());
+        assertEquals(7, second.getClaims().get("userId", Integer.class));
+        assertEquals(jwtService.digest(token), second.getDigest());
+    }
+
+    @Test
+    void rejectsExpiredTokenEvenWhenCached() throws Exception {
+        // A token whose signature is valid but whose expiry has already passed
+        JwtService jwtService = jwtService(-60_000, 16);
+        String token = jwtService.generateToken(Map.of(), "user@example.com");
+        String digest = jwtService.digest(token);
+        Date expiresAt = new Date(System.currentTimeMillis() - 60_000);
+        Claims claims = Jwts.claims().setSubject("user@example.com").setExpiration(expiresAt);
+        @SuppressWarnings("unchecked")
+        Map<String, VerifiedToken> verifiedTokens = (Map<String, VerifiedToken>) ReflectionTestUtils.getField(jwtService, "verifiedTokens");
+        verifiedTokens.put(digest, new VerifiedToken(digest, "user@example.com", expiresAt, claims));
+
+        assertThrows(ExpiredJwtException.class, () -> jwtService.verify(token));
+        // The expired entry was evicted rather than served again
+        assertFalse(verifiedTokens.containsKey(digest));
+        assertThrows(ExpiredJwtException.class, () -> jwtService.verify(token));
+    }
+}